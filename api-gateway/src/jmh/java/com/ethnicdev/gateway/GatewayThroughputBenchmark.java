@@ -0,0 +1,185 @@
+package com.ethnicdev.gateway;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Runs the gateway in this JVM against a stub identity service and an echo backend on localhost and reports
+ * throughput and latency percentiles for an authenticated route at several concurrency levels.
+ *
+ * <p>Arguments are the concurrency levels, {@code 1 16 64 256} by default. Client, gateway and backends share
+ * the machine, so compare runs against each other rather than reading the numbers as production capacity.
+ */
+public class GatewayThroughputBenchmark {
+
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    private static final String PATH = "/api/v1/notification/echo";
+
+    private static final String ECHO_BODY = "{\"code\":1000,\"result\":{\"message\":\"echo\"}}";
+
+    private static final String REVOCATIONS_BODY = "{\"code\":1000,\"result\":{\"cursor\":0,\"tokens\":[]}}";
+
+    public static void main(String[] args) throws JOSEException {
+        int[] levels = args.length == 0
+                ? new int[] {1, 16, 64, 256}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        RSAKey signingKey = new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                .keyID(UUID.randomUUID().toString())
+                .algorithm(JWSAlgorithm.RS256)
+                .generate();
+        String jwkSet = new JWKSet(signingKey.toPublicJWK()).toString();
+
+        DisposableServer identity = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/identity/internal/revocations", (request, response) -> response.header(
+                                        HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(REVOCATIONS_BODY)))
+                        .get("/identity/.well-known/jwks.json", (request, response) -> response.header(
+                                        HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(jwkSet))))
+                .bindNow();
+        DisposableServer echo = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((request, response) -> response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just(ECHO_BODY)))
+                .bindNow();
+        ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                // Command line arguments, so they take precedence over application.yaml
+                .run(
+                        "--server.port=0",
+                        "--management.server.port=-1",
+                        "--logging.level.root=WARN",
+                        // Measure the filter chain itself, not the protections in front of it
+                        "--app.rate-limit.enabled=false",
+                        "--app.load-shedding.enabled=false",
+                        "--app.concurrency-limit.enabled=false",
+                        "--spring.cloud.discovery.client.simple.instances.identity-service[0].uri=http://localhost:"
+                                + identity.port(),
+                        "--spring.cloud.discovery.client.simple.instances.notification-service[0].uri=http://localhost:"
+                                + echo.port());
+        int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        String authorization = "Bearer " + token(signingKey);
+        int maxConcurrency = Arrays.stream(levels).max().orElse(1);
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("benchmark")
+                .maxConnections(maxConcurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connectionProvider)
+                .baseUrl("http://localhost:" + port)
+                .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, authorization));
+
+        System.out.printf("%12s %12s %10s %10s %10s %8s%n", "concurrency", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        try {
+            for (int concurrency : levels) {
+                run(client, concurrency, WARMUP, new ConcurrentHistogram(3), new AtomicLong());
+                Histogram histogram = new ConcurrentHistogram(3);
+                AtomicLong errors = new AtomicLong();
+                long completed = run(client, concurrency, MEASUREMENT, histogram, errors);
+                System.out.printf(
+                        "%12d %12.0f %10.2f %10.2f %10.2f %8d%n",
+                        concurrency,
+                        completed / (double) MEASUREMENT.toSeconds(),
+                        millis(histogram.getValueAtPercentile(50)),
+                        millis(histogram.getValueAtPercentile(99)),
+                        millis(histogram.getValueAtPercentile(99.9)),
+                        errors.get());
+            }
+        } finally {
+            connectionProvider.dispose();
+            gateway.close();
+            echo.disposeNow();
+            identity.disposeNow();
+        }
+    }
+
+    /**
+     * Closed loop: each of {@code concurrency} workers sends its next request as soon as the previous completes.
+     */
+    private static long run(
+            HttpClient client, int concurrency, Duration duration, Histogram histogram, AtomicLong errors) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong completed = new AtomicLong();
+        Flux.range(0, concurrency)
+                .flatMap(
+                        worker -> Mono.defer(() -> {
+                                    long start = System.nanoTime();
+                                    return client.get()
+                                            .uri(PATH)
+                                            .responseSingle((response, body) ->
+                                                    body.then(Mono.just(response.status().code())))
+                                            .doOnNext(status -> {
+                                                histogram.recordValue(System.nanoTime() - start);
+                                                completed.incrementAndGet();
+                                                if (status != 200) {
+                                                    errors.incrementAndGet();
+                                                }
+                                            })
+                                            .onErrorResume(throwable -> {
+                                                errors.incrementAndGet();
+                                                return Mono.empty();
+                                            });
+                                })
+                                .repeat(() -> System.nanoTime() < deadline),
+                        concurrency)
+                .blockLast();
+        return completed.get();
+    }
+
+    private static String token(RSAKey signingKey) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("benchmark")
+                .issuer("ethnicdev.com")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("scope", "ROLE_USER")
+                .build();
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256)
+                        .keyID(signingKey.getKeyID())
+                        .build(),
+                claims);
+        signedJWT.sign(new RSASSASigner(signingKey));
+        return signedJWT.serialize();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
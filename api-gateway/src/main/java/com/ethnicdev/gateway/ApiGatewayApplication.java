@@ -2,8 +2,16 @@ package com.ethnicdev.gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.ethnicdev.gateway.loadbalancer.LoadBalancerConfiguration;
 
 @SpringBootApplication
+@EnableScheduling
+@ConfigurationPropertiesScan
+@LoadBalancerClients(defaultConfiguration = LoadBalancerConfiguration.class)
 public class ApiGatewayApplication {
 
     public static void main(String[] args) {
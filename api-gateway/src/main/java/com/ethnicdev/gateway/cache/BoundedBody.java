@@ -0,0 +1,56 @@
+package com.ethnicdev.gateway.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads a response body into memory only while it stays under a cap. A body that grows past the cap is handed on as
+ * a stream, the chunks read so far ahead of the rest, so at most the cap is ever held per response.
+ */
+final class BoundedBody {
+
+    private BoundedBody() {}
+
+    /**
+     * @param whole Receives the body when it ends within the cap
+     * @param overflow Receives the whole body as a stream when it exceeds the cap
+     */
+    static Mono<Void> read(
+            Publisher<? extends DataBuffer> body,
+            long maxSize,
+            Function<byte[], Mono<Void>> whole,
+            Function<Flux<DataBuffer>, Mono<Void>> overflow) {
+        AtomicLong size = new AtomicLong();
+        return Flux.<DataBuffer>from(body)
+                // One list at the end within the cap, past it each chunk is passed on as it arrives
+                .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxSize)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .switchOnFirst((first, chunks) -> first.hasValue() && size.get() > maxSize
+                        ? overflow.apply(chunks.concatMapIterable(Function.identity()))
+                        : chunks.singleOrEmpty()
+                                .defaultIfEmpty(List.of())
+                                .flatMap(buffers -> whole.apply(toBytes(buffers))))
+                .then();
+    }
+
+    private static byte[] toBytes(List<DataBuffer> buffers) {
+        int size = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
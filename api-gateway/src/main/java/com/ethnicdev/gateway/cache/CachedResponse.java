@@ -0,0 +1,5 @@
+package com.ethnicdev.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+public record CachedResponse(MediaType contentType, byte[] body, String etag) {}
@@ -0,0 +1,204 @@
+package com.ethnicdev.gateway.cache;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ethnicdev.gateway.configuration.AuthenticationFilter;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Opt-in per route: {@code - RequestCoalescing} or {@code - RequestCoalescing=SCOPE}. Identical GETs arriving
+ * while one is in flight wait for it and replay its buffered response instead of going upstream.
+ *
+ * <p>Requests are identical when path, query and authorization class match: the token subject by default, or
+ * the scope claim for routes whose response only depends on permissions. When the shared response is not
+ * usable (too large, failed, cancelled) waiters fall back to sending their own request.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    /**
+     * After the response cache, before the concurrency limit so waiters never take an upstream slot.
+     */
+    public static final int ORDER = ResponseCacheGatewayFilterFactory.ORDER + 1;
+
+    /**
+     * Headers describing the body, the only ones replayed. Everything else (rate limit state, cookies, tracing)
+     * belongs to the leader's own exchange.
+     */
+    static final List<String> REPRESENTATION_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.VARY);
+
+    RequestCoalescingProperties properties;
+
+    Map<Key, Sinks.One<SharedResponse>> inflight = new ConcurrentHashMap<>();
+
+    Counter joined;
+
+    public RequestCoalescingGatewayFilterFactory(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.joined = meterRegistry.counter("gateway.coalescing.joined");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("key");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> this.filter(exchange, chain, config.getKey()), ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, KeyType keyType) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Key key = keyOf(exchange, keyType);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> leader = this.inflight.putIfAbsent(key, sink);
+        if (Objects.nonNull(leader)) {
+            this.joined.increment();
+            return leader.asMono()
+                    // A slow leader must not hold its waiters for as long as the upstream takes
+                    .timeout(this.properties.getMaxWait(), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? this.replay(exchange.getResponse(), shared.get())
+                            : chain.filter(exchange));
+        }
+        return chain.filter(exchange.mutate()
+                        .response(new SharingResponse(exchange.getResponse(), key, sink))
+                        .build())
+                // Completed without a body, failed or cancelled: let the waiters go upstream themselves
+                .doFinally(signalType -> this.complete(key, sink, null));
+    }
+
+    private void complete(Key key, Sinks.One<SharedResponse> sink, SharedResponse shared) {
+        this.inflight.remove(key, sink);
+        if (Objects.isNull(shared)) {
+            sink.tryEmitEmpty();
+        } else {
+            sink.tryEmitValue(shared);
+        }
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static Key keyOf(ServerWebExchange exchange, KeyType keyType) {
+        Set<URI> originalUrls = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        URI uri = Objects.isNull(originalUrls) || originalUrls.isEmpty()
+                ? exchange.getRequest().getURI()
+                : originalUrls.iterator().next();
+        JWTClaimsSet claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTRIBUTE);
+        String authorization = "";
+        if (Objects.nonNull(claims)) {
+            authorization = keyType == KeyType.SCOPE
+                    ? Objects.requireNonNullElse((String) claims.getClaim("scope"), "")
+                    : claims.getSubject();
+        }
+        return new Key(uri.getRawPath(), uri.getRawQuery(), keyType, authorization);
+    }
+
+    public enum KeyType {
+        SUBJECT,
+        SCOPE
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Config {
+
+        KeyType key = KeyType.SUBJECT;
+    }
+
+    private record Key(String path, String query, KeyType keyType, String authorization) {}
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    private class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+
+        private final Sinks.One<SharedResponse> sink;
+
+        SharingResponse(ServerHttpResponse delegate, Key key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long maxBodySize = properties.getMaxBodySize().toBytes();
+            if (getHeaders().getContentLength() > maxBodySize) {
+                complete(this.key, this.sink, null);
+                return super.writeWith(body);
+            }
+            // Chunked responses carry no Content-Length, the size is only known while reading
+            return BoundedBody.read(body, maxBodySize, this::shareAndWrite, buffers -> {
+                complete(this.key, this.sink, null);
+                return super.writeWith(buffers);
+            });
+        }
+
+        private Mono<Void> shareAndWrite(byte[] bytes) {
+            getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+            getHeaders().setContentLength(bytes.length);
+            HttpHeaders headers = new HttpHeaders();
+            REPRESENTATION_HEADERS.forEach(name -> {
+                List<String> values = getHeaders().get(name);
+                if (Objects.nonNull(values)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            complete(this.key, this.sink, new SharedResponse(getStatusCode(), headers, bytes));
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+}
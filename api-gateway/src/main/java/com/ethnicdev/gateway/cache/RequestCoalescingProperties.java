@@ -0,0 +1,26 @@
+package com.ethnicdev.gateway.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.request-coalescing")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestCoalescingProperties {
+
+    /**
+     * Responses larger than this are not shared, waiting callers then send their own request.
+     */
+    DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+    /**
+     * How long a waiting caller follows a slow leader before sending its own request.
+     */
+    Duration maxWait = Duration.ofSeconds(1);
+}
@@ -0,0 +1,73 @@
+package com.ethnicdev.gateway.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Upstream GET responses keyed by path, query and authenticated subject, bounded by size and TTL.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<Key, CachedResponse> cache;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "gateway.response-cache");
+    }
+
+    public CachedResponse get(Key key) {
+        return this.cache.getIfPresent(key);
+    }
+
+    public void put(Key key, CachedResponse response) {
+        this.cache.put(key, response);
+    }
+
+    /**
+     * Drop every subject's entries for a path, query strings included. Only runs on writes and explicit
+     * invalidation, so a scan is cheaper than keeping a path index on every read.
+     */
+    public void invalidate(String path) {
+        this.cache.asMap().keySet().removeIf(key -> key.path().equals(path));
+    }
+
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    public static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Key(String path, String query, String subject) {
+
+        public Key {
+            query = query == null ? "" : query;
+            subject = subject == null ? "" : subject;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ethnicdev.gateway.cache;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Lets upstream services drop stale entries after a change, e.g.
+ * {@code DELETE /actuator/responsecache?path=/api/v1/profile/users/{profileId}} on the management port.
+ */
+@Component
+@Endpoint(id = "responsecache")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ResponseCacheEndpoint {
+
+    ResponseCache responseCache;
+
+    @ReadOperation
+    public Map<String, Object> size() {
+        return Map.of("size", this.responseCache.size());
+    }
+
+    @DeleteOperation
+    public void invalidate(@Nullable String path) {
+        if (Objects.isNull(path)) {
+            this.responseCache.invalidateAll();
+        } else {
+            this.responseCache.invalidate(path);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ethnicdev.gateway.cache;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ethnicdev.gateway.configuration.AuthenticationFilter;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opt-in per route: {@code - ResponseCache}. Caches successful GET responses per subject, answers
+ * {@code If-None-Match} with 304 from the cache and drops a path's entries after a successful write to it.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    /**
+     * After rate limiting, before the concurrency limit so hits never take an upstream slot.
+     */
+    public static final int ORDER = 1;
+
+    ResponseCache responseCache;
+
+    ResponseCacheProperties properties;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache, ResponseCacheProperties properties) {
+        super(Object.class);
+        this.responseCache = responseCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return new OrderedGatewayFilter(this::filter, ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = originalUri(exchange);
+        String path = uri.getRawPath();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (Objects.nonNull(status) && status.is2xxSuccessful()) {
+                    this.responseCache.invalidate(path);
+                }
+            }));
+        }
+        JWTClaimsSet claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTRIBUTE);
+        ResponseCache.Key key =
+                new ResponseCache.Key(path, uri.getRawQuery(), Objects.nonNull(claims) ? claims.getSubject() : null);
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+
+        boolean noCache = request.getHeaders().getCacheControl() != null
+                && request.getHeaders().getCacheControl().contains("no-cache");
+        CachedResponse cached = noCache ? null : this.responseCache.get(key);
+        if (Objects.nonNull(cached)) {
+            return this.writeCached(exchange.getResponse(), cached, ifNoneMatch);
+        }
+        return chain.filter(exchange.mutate()
+                .response(new CachingResponse(exchange.getResponse(), key, ifNoneMatch))
+                .build());
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, List<String> ifNoneMatch) {
+        response.getHeaders().setETag(cached.etag());
+        if (matches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(cached.contentType());
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Key on the path the client asked for, StripPrefix may already have rewritten the request.
+     */
+    private static URI originalUri(ServerWebExchange exchange) {
+        Set<URI> originalUrls = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR);
+        return Objects.isNull(originalUrls) || originalUrls.isEmpty()
+                ? exchange.getRequest().getURI()
+                : originalUrls.iterator().next();
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ResponseCache.Key key;
+
+        private final List<String> ifNoneMatch;
+
+        CachingResponse(ServerHttpResponse delegate, ResponseCache.Key key, List<String> ifNoneMatch) {
+            super(delegate);
+            this.key = key;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!HttpStatus.OK.equals(getStatusCode())
+                    || getHeaders().getContentLength()
+                            > properties.getMaxBodySize().toBytes()) {
+                return super.writeWith(body);
+            }
+            // Chunked responses carry no Content-Length, the size is only known while reading
+            return BoundedBody.read(body, properties.getMaxBodySize().toBytes(), this::cacheAndWrite, super::writeWith);
+        }
+
+        private Mono<Void> cacheAndWrite(byte[] bytes) {
+            String etag = ResponseCache.etagOf(bytes);
+            responseCache.put(this.key, new CachedResponse(getHeaders().getContentType(), bytes, etag));
+            getHeaders().setETag(etag);
+            if (matches(this.ifNoneMatch, etag)) {
+                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                return setComplete();
+            }
+            getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+            getHeaders().setContentLength(bytes.length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ethnicdev.gateway.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.response-cache")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ResponseCacheProperties {
+
+    long maximumSize = 10_000;
+
+    Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Larger responses are passed through without being cached.
+     */
+    DataSize maxBodySize = DataSize.ofKilobytes(64);
+}
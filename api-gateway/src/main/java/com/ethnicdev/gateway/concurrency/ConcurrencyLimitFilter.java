@@ -0,0 +1,99 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ethnicdev.gateway.cache.RequestCoalescingGatewayFilterFactory;
+import com.ethnicdev.gateway.configuration.ErrorResponseWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Adaptive in-flight limit per gateway route, requests over the limit are rejected with 503 instead of queued.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    ConcurrencyLimitProperties properties;
+
+    ErrorResponseWriter errorResponseWriter;
+
+    MeterRegistry meterRegistry;
+
+    Map<String, RouteLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrder() {
+        // After rate limiting, an abusive client should not use up the shared limit, and after cache hits and
+        // coalesced requests which never reach the upstream
+        return RequestCoalescingGatewayFilterFactory.ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!this.properties.isEnabled() || Objects.isNull(route)) {
+            return chain.filter(exchange);
+        }
+        RouteLimiter routeLimiter = this.limiters.computeIfAbsent(route.getId(), this::createLimiter);
+        GradientLimiter limiter = routeLimiter.limiter();
+        RequestPriority priority =
+                exchange.getAttributeOrDefault(LoadSheddingFilter.PRIORITY_ATTRIBUTE, RequestPriority.DEFAULT);
+        // Lower classes run out of room first when the upstream starts queueing
+        int inflightAtStart = limiter.tryAcquire(priority.getHeadroom());
+        if (inflightAtStart < 0) {
+            routeLimiter.rejected().increment();
+            return this.errorResponseWriter.serviceUnavailable(exchange.getResponse());
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signalType -> {
+            if (signalType == SignalType.CANCEL) {
+                limiter.ignore();
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean dropped =
+                    signalType == SignalType.ON_ERROR || (Objects.nonNull(status) && status.is5xxServerError());
+            limiter.release(System.nanoTime() - start, inflightAtStart, dropped);
+        });
+    }
+
+    public GradientLimiter limiterOf(String routeId) {
+        return this.limiters.computeIfAbsent(routeId, this::createLimiter).limiter();
+    }
+
+    private RouteLimiter createLimiter(String routeId) {
+        GradientLimiter limiter = new GradientLimiter(this.properties.limitOf(routeId));
+        Gauge.builder("gateway.concurrency.limit", limiter, GradientLimiter::getLimit)
+                .tag("route", routeId)
+                .register(this.meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, GradientLimiter::getInflight)
+                .tag("route", routeId)
+                .register(this.meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .tag("route", routeId)
+                .register(this.meterRegistry);
+        return new RouteLimiter(limiter, rejected);
+    }
+
+    private record RouteLimiter(GradientLimiter limiter, Counter rejected) {}
+}
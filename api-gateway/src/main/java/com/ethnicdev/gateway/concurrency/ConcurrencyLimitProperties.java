@@ -0,0 +1,53 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConcurrencyLimitProperties {
+
+    boolean enabled = true;
+
+    /**
+     * Used for every route without an entry in {@link #routes}.
+     */
+    Limit defaults = new Limit();
+
+    /**
+     * Gateway route id -> limit settings.
+     */
+    Map<String, Limit> routes = new HashMap<>();
+
+    public Limit limitOf(String routeId) {
+        return this.routes.getOrDefault(routeId, this.defaults);
+    }
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limit {
+
+        int initialLimit = 50;
+
+        int minLimit = 5;
+
+        int maxLimit = 1000;
+
+        /**
+         * How much slower than the long term latency a sample may be before the limit shrinks.
+         */
+        double rttTolerance = 1.5;
+
+        /**
+         * Weight of a new limit estimate, lower reacts slower but is more stable.
+         */
+        double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Measures how late a periodic task runs on each server event loop. A busy loop delays every request it owns,
+ * so the worst loop is what we report.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventLoopLagMonitor {
+
+    LoadSheddingProperties properties;
+
+    MeterRegistry meterRegistry;
+
+    List<ScheduledFuture<?>> probes = new ArrayList<>();
+
+    @NonFinal
+    AtomicLongArray lags = new AtomicLongArray(0);
+
+    @PostConstruct
+    void start() {
+        if (!this.properties.isEnabled()) {
+            return;
+        }
+        List<EventExecutor> loops = new ArrayList<>();
+        HttpResources.get().onServer(LoopResources.DEFAULT_NATIVE).forEach(loops::add);
+        this.probe(loops);
+        Gauge.builder("gateway.event-loop.lag", this, monitor -> monitor.lagNanos() / 1_000_000.0)
+                .baseUnit("milliseconds")
+                .register(this.meterRegistry);
+    }
+
+    void probe(List<EventExecutor> loops) {
+        this.lags = new AtomicLongArray(loops.size());
+        long interval = this.properties.getProbeInterval().toNanos();
+        for (int i = 0; i < loops.size(); i++) {
+            // Fixed delay, at a fixed rate the runs missed by a stall catch up at once and reset its lag
+            this.probes.add(loops.get(i)
+                    .scheduleWithFixedDelay(new Probe(i, interval), interval, interval, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        this.probes.forEach(probe -> probe.cancel(false));
+    }
+
+    public long lagNanos() {
+        long max = 0;
+        for (int i = 0; i < this.lags.length(); i++) {
+            max = Math.max(max, this.lags.get(i));
+        }
+        return max;
+    }
+
+    private final class Probe implements Runnable {
+
+        private final int index;
+
+        private final long interval;
+
+        private long expected;
+
+        private Probe(int index, long interval) {
+            this.index = index;
+            this.interval = interval;
+            this.expected = System.nanoTime() + interval;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            lags.set(this.index, Math.max(0, now - this.expected));
+            this.expected = now + this.interval;
+        }
+    }
+}
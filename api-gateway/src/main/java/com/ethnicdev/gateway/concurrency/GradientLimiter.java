@@ -0,0 +1,105 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient based adaptive concurrency limit.
+ *
+ * <p>The limit follows {@code limit * (longRtt / rtt) + sqrt(limit)}: while latency stays near its long term
+ * average the square root term lets the limit grow, once the upstream starts queueing the latency gradient
+ * drops below one and the limit shrinks. Errors from the upstream cut the limit multiplicatively.
+ */
+public class GradientLimiter {
+
+    private static final double LONG_RTT_WINDOW = 600;
+
+    private final ConcurrencyLimitProperties.Limit settings;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile double limit;
+
+    // Guarded by updateLock
+    private double longRtt;
+
+    public GradientLimiter(ConcurrencyLimitProperties.Limit settings) {
+        this.settings = settings;
+        this.limit = settings.getInitialLimit();
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInflight() {
+        return this.inflight.get();
+    }
+
+    /**
+     * Take a slot, never waits.
+     *
+     * @param headroom Fraction of the limit this caller may use, 1 for the whole limit
+     * @return In-flight count including this request, or -1 when rejected
+     */
+    public int tryAcquire(double headroom) {
+        int allowed = (int) (this.limit * headroom);
+        while (true) {
+            int current = this.inflight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (this.inflight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Release a slot and feed the latency sample into the limit.
+     *
+     * @param rttNanos Upstream latency of the request
+     * @param inflightAtStart Value returned by {@link #tryAcquire(double)}
+     * @param dropped The upstream failed or timed out
+     */
+    public void release(long rttNanos, int inflightAtStart, boolean dropped) {
+        this.inflight.decrementAndGet();
+        // Skip the sample instead of waiting when another thread is updating
+        if (!this.updateLock.tryLock()) {
+            return;
+        }
+        try {
+            this.update(rttNanos, inflightAtStart, dropped);
+        } finally {
+            this.updateLock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot without a sample, e.g. when the client went away.
+     */
+    public void ignore() {
+        this.inflight.decrementAndGet();
+    }
+
+    private void update(long rttNanos, int inflightAtStart, boolean dropped) {
+        double current = this.limit;
+        double next;
+        if (dropped) {
+            next = current * 0.9;
+        } else {
+            double rtt = Math.max(1, rttNanos);
+            this.longRtt = this.longRtt == 0 ? rtt : this.longRtt + (rtt - this.longRtt) / LONG_RTT_WINDOW;
+            // Not using half of the limit says nothing about the upstream capacity
+            if (inflightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, this.settings.getRttTolerance() * this.longRtt / rtt));
+            double estimate = current * gradient + Math.sqrt(current);
+            next = current * (1 - this.settings.getSmoothing()) + estimate * this.settings.getSmoothing();
+        }
+        this.limit = Math.max(this.settings.getMinLimit(), Math.min(this.settings.getMaxLimit(), next));
+    }
+}
@@ -0,0 +1,83 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.Objects;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ethnicdev.gateway.configuration.ErrorResponseWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Classifies each request and, while the event loops are lagging, rejects the lower classes before any
+ * authentication or upstream work is spent on them. Upstream queueing is handled by
+ * {@link ConcurrencyLimitFilter}, which gives each class a different share of the route limit.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    public static final String PRIORITY_ATTRIBUTE = LoadSheddingFilter.class.getName() + ".priority";
+
+    LoadSheddingProperties properties;
+
+    RequestPriorityResolver requestPriorityResolver;
+
+    EventLoopLagMonitor eventLoopLagMonitor;
+
+    ErrorResponseWriter errorResponseWriter;
+
+    MeterRegistry meterRegistry;
+
+    @Override
+    public int getOrder() {
+        // Before authentication
+        return -2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!this.properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        RequestPriority priority = this.requestPriorityResolver.resolve(
+                request.getMethod(), request.getPath().pathWithinApplication());
+        exchange.getAttributes().put(PRIORITY_ATTRIBUTE, priority);
+
+        if (this.shouldShed(priority)) {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            this.meterRegistry
+                    .counter(
+                            "gateway.load-shedding.rejected",
+                            "route",
+                            Objects.nonNull(route) ? route.getId() : "none",
+                            "priority",
+                            priority.name())
+                    .increment();
+            return this.errorResponseWriter.serviceUnavailable(exchange.getResponse());
+        }
+        return chain.filter(exchange);
+    }
+
+    private boolean shouldShed(RequestPriority priority) {
+        if (priority == RequestPriority.CRITICAL) {
+            return false;
+        }
+        long threshold = this.properties.getLagThreshold().toNanos();
+        long lag = this.eventLoopLagMonitor.lagNanos();
+        return priority == RequestPriority.SHEDDABLE ? lag >= threshold : lag >= 2 * threshold;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.load-shedding")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoadSheddingProperties {
+
+    boolean enabled = true;
+
+    /**
+     * Event loop lag from which sheddable requests are rejected, twice this also rejects default ones.
+     */
+    Duration lagThreshold = Duration.ofMillis(50);
+
+    Duration probeInterval = Duration.ofMillis(100);
+
+    RequestPriority defaultPriority = RequestPriority.DEFAULT;
+
+    /**
+     * Evaluated in order, first match wins. Paths are relative to the api prefix.
+     */
+    List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Rule {
+
+        String path;
+
+        /**
+         * Empty matches every method.
+         */
+        List<HttpMethod> methods = new ArrayList<>();
+
+        RequestPriority priority;
+    }
+}
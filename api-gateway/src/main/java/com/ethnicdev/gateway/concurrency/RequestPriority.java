@@ -0,0 +1,26 @@
+package com.ethnicdev.gateway.concurrency;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum RequestPriority {
+    /**
+     * Login and token refresh, only rejected when the whole concurrency limit is in use.
+     */
+    CRITICAL(1.0),
+    DEFAULT(0.9),
+    /**
+     * Listings and other calls a client can retry later, shed first.
+     */
+    SHEDDABLE(0.7);
+
+    /**
+     * Fraction of a route's concurrency limit requests of this class may occupy.
+     */
+    double headroom;
+}
@@ -0,0 +1,40 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+@Component
+public class RequestPriorityResolver {
+
+    private final List<CompiledRule> rules;
+
+    private final RequestPriority defaultPriority;
+
+    public RequestPriorityResolver(LoadSheddingProperties properties, @Value("${app.api-prefix}") String apiPrefix) {
+        this.defaultPriority = properties.getDefaultPriority();
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(
+                        PathPatternParser.defaultInstance.parse(apiPrefix + rule.getPath()),
+                        List.copyOf(rule.getMethods()),
+                        rule.getPriority()))
+                .toList();
+    }
+
+    public RequestPriority resolve(HttpMethod method, PathContainer path) {
+        for (CompiledRule rule : this.rules) {
+            if ((rule.methods().isEmpty() || rule.methods().contains(method))
+                    && rule.pattern().matches(path)) {
+                return rule.priority();
+            }
+        }
+        return this.defaultPriority;
+    }
+
+    private record CompiledRule(PathPattern pattern, List<HttpMethod> methods, RequestPriority priority) {}
+}
@@ -1,25 +1,24 @@
 package com.ethnicdev.gateway.configuration;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+
+import jakarta.annotation.PostConstruct;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 
-import com.ethnicdev.gateway.dto.response.ApiResponse;
-import com.ethnicdev.gateway.service.IdentityService;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ethnicdev.gateway.policy.RoutePolicy;
+import com.ethnicdev.gateway.policy.RoutePolicyMatcher;
+import com.ethnicdev.gateway.service.IdentityEnvelopeSigner;
+import com.ethnicdev.gateway.service.TokenVerifier;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -33,16 +32,39 @@ import reactor.core.publisher.Mono;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
-    IdentityService identityService;
+    public static final String CLAIMS_ATTRIBUTE = AuthenticationFilter.class.getName() + ".claims";
+
+    private static final String BEARER_PREFIX = "Bearer";
+
+    TokenVerifier tokenVerifier;
+
+    RoutePolicyMatcher routePolicyMatcher;
+
+    IdentityEnvelopeSigner identityEnvelopeSigner;
+
+    ErrorResponseWriter errorResponseWriter;
+
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    Counter publicRequests;
 
-    ObjectMapper objectMapper;
+    @NonFinal
+    Counter authenticatedRequests;
 
     @NonFinal
-    private String[] publicEndpoints = {"/identity/auth/.*", "/identity/users/registration"};
+    Counter unauthenticatedRequests;
 
     @NonFinal
-    @Value("${app.api-prefix}")
-    private String apiPrefix;
+    Counter forbiddenRequests;
+
+    @PostConstruct
+    void init() {
+        this.publicRequests = this.counter("public");
+        this.authenticatedRequests = this.counter("authenticated");
+        this.unauthenticatedRequests = this.counter("unauthenticated");
+        this.forbiddenRequests = this.counter("forbidden");
+    }
 
     @Override
     public int getOrder() {
@@ -51,47 +73,73 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        log.info("Enter authentication filter...");
-        if (isPublicEndpoints(exchange.getRequest())) {
+        log.debug("Enter authentication filter...");
+        return this.authenticate(this.withoutEnvelope(exchange), chain);
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RoutePolicy policy =
+                this.routePolicyMatcher.match(exchange.getRequest().getPath().value());
+        if (policy.isPublic()) {
+            this.publicRequests.increment();
             return chain.filter(exchange);
         }
+        if (policy.isDenied()) {
+            // Never exposed through the gateway, whoever asks
+            this.forbiddenRequests.increment();
+            return this.errorResponseWriter.forbidden(exchange.getResponse());
+        }
         List<String> authHeader = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || authHeader.isEmpty()) {
-            return this.unauthenticated(exchange.getResponse());
+            this.unauthenticatedRequests.increment();
+            return this.errorResponseWriter.unauthenticated(exchange.getResponse());
         }
-        String token = authHeader.get(0).replace("Bearer", "");
-        this.identityService
-                .introspect(token)
-                .subscribe(t -> log.info("Token valid: {}", t.getResult().isValid()));
-        return this.identityService
-                .introspect(token)
-                .flatMap(introspectResponse -> {
-                    if (!introspectResponse.getResult().isValid()) {
-                        return this.unauthenticated(exchange.getResponse());
+        String token = extractToken(authHeader.get(0));
+        return this.tokenVerifier
+                .verify(token)
+                .onErrorResume(throwable -> Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(claims -> {
+                    if (claims.isEmpty()) {
+                        this.unauthenticatedRequests.increment();
+                        return this.errorResponseWriter.unauthenticated(exchange.getResponse());
+                    }
+                    if (!policy.isGranted((String) claims.get().getClaim("scope"))) {
+                        this.forbiddenRequests.increment();
+                        return this.errorResponseWriter.forbidden(exchange.getResponse());
                     }
-                    return chain.filter(exchange);
-                })
-                .onErrorResume(throwable -> this.unauthenticated(exchange.getResponse()));
+                    this.authenticatedRequests.increment();
+                    exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims.get());
+                    String envelope = this.identityEnvelopeSigner.sign(claims.get());
+                    return chain.filter(exchange.mutate()
+                            .request(request ->
+                                    request.headers(headers -> headers.set(IdentityEnvelopeSigner.HEADER, envelope)))
+                            .build());
+                });
     }
 
-    private boolean isPublicEndpoints(ServerHttpRequest request) {
-        return Arrays.stream(this.publicEndpoints)
-                .anyMatch(endpoint -> request.getURI().getPath().matches(String.format("%s%s", apiPrefix, endpoint)));
+    /**
+     * Token from an Authorization header value, with or without the Bearer scheme.
+     */
+    public static String extractToken(String authorization) {
+        int start = authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? BEARER_PREFIX.length()
+                : 0;
+        return authorization.substring(start).trim();
     }
 
-    Mono<Void> unauthenticated(ServerHttpResponse response) {
-
-        ApiResponse<?> apiResponse =
-                ApiResponse.builder().code(1401).message("Unauthenticated").build();
+    private Counter counter(String outcome) {
+        return Counter.builder("gateway.auth.requests").tag("outcome", outcome).register(this.meterRegistry);
+    }
 
-        String body;
-        try {
-            body = this.objectMapper.writeValueAsString(apiResponse);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    private ServerWebExchange withoutEnvelope(ServerWebExchange exchange) {
+        if (!exchange.getRequest().getHeaders().containsKey(IdentityEnvelopeSigner.HEADER)) {
+            return exchange;
         }
-        response.setStatusCode(HttpStatus.UNAUTHORIZED);
-        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
-        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+        // Only the gateway may assert an identity to downstream services
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(IdentityEnvelopeSigner.HEADER)))
+                .build();
     }
 }
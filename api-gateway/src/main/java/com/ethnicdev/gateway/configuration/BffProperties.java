@@ -0,0 +1,22 @@
+package com.ethnicdev.gateway.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.bff")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BffProperties {
+
+    /**
+     * Per leg of a composite call, a slow leg is left out of the response instead of delaying it.
+     */
+    Duration identityTimeout = Duration.ofMillis(800);
+
+    Duration profileTimeout = Duration.ofMillis(800);
+}
@@ -0,0 +1,84 @@
+package com.ethnicdev.gateway.configuration;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes the gateway's own error responses in the same {@link ApiResponse} shape as the services. The bodies
+ * never change, so they are serialized once at startup.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ErrorResponseWriter {
+
+    ObjectMapper objectMapper;
+
+    @NonFinal
+    FixedResponse unauthenticated;
+
+    @NonFinal
+    FixedResponse forbidden;
+
+    @NonFinal
+    FixedResponse tooManyRequests;
+
+    @NonFinal
+    FixedResponse serviceUnavailable;
+
+    @PostConstruct
+    void init() throws JsonProcessingException {
+        this.unauthenticated = this.serialize(HttpStatus.UNAUTHORIZED, 1401, "Unauthenticated");
+        this.forbidden = this.serialize(HttpStatus.FORBIDDEN, 1403, "You do not have permission.");
+        this.tooManyRequests = this.serialize(HttpStatus.TOO_MANY_REQUESTS, 1429, "Too many requests.");
+        this.serviceUnavailable =
+                this.serialize(HttpStatus.SERVICE_UNAVAILABLE, 1503, "Service is busy, please retry later.");
+    }
+
+    public Mono<Void> unauthenticated(ServerHttpResponse response) {
+        return write(response, this.unauthenticated);
+    }
+
+    public Mono<Void> forbidden(ServerHttpResponse response) {
+        return write(response, this.forbidden);
+    }
+
+    public Mono<Void> tooManyRequests(ServerHttpResponse response) {
+        return write(response, this.tooManyRequests);
+    }
+
+    public Mono<Void> serviceUnavailable(ServerHttpResponse response) {
+        return write(response, this.serviceUnavailable);
+    }
+
+    private FixedResponse serialize(HttpStatus status, int code, String message) throws JsonProcessingException {
+        ApiResponse<?> apiResponse =
+                ApiResponse.builder().code(code).message(message).build();
+        return new FixedResponse(status, this.objectMapper.writeValueAsBytes(apiResponse));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, FixedResponse fixedResponse) {
+        response.setStatusCode(fixedResponse.status());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(fixedResponse.body().length);
+        // Wrapping shares the array, nothing is copied per rejection
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(fixedResponse.body())));
+    }
+
+    private record FixedResponse(HttpStatus status, byte[] body) {}
+}
@@ -0,0 +1,49 @@
+package com.ethnicdev.gateway.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.services.identity")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdentityClientProperties {
+
+    /**
+     * Host is a load balanced service id, see spring.cloud.discovery.client.simple.instances.
+     */
+    String url = "http://identity-service/identity";
+
+    int maxConnections = 200;
+
+    int pendingAcquireMaxCount = 1000;
+
+    Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+    Duration maxIdleTime = Duration.ofSeconds(30);
+
+    Duration maxLifeTime = Duration.ofMinutes(5);
+
+    Duration connectTimeout = Duration.ofSeconds(1);
+
+    Duration responseTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Multiplex calls over HTTP/2 cleartext, identity service must enable h2c as well.
+     */
+    boolean h2c = false;
+
+    /**
+     * Upper bound for one call including hedged attempts.
+     */
+    Duration deadline = Duration.ofMillis(1500);
+
+    /**
+     * Send a second attempt of an idempotent call when the first is slower than this, zero disables hedging.
+     */
+    Duration hedgeDelay = Duration.ZERO;
+}
@@ -0,0 +1,30 @@
+package com.ethnicdev.gateway.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.services.profile")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProfileClientProperties {
+
+    /**
+     * Host is a load balanced service id, see spring.cloud.discovery.client.simple.instances.
+     */
+    String url = "http://profile-service/profile";
+
+    int maxConnections = 200;
+
+    Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+    Duration maxIdleTime = Duration.ofSeconds(30);
+
+    Duration connectTimeout = Duration.ofSeconds(1);
+
+    Duration responseTimeout = Duration.ofSeconds(2);
+}
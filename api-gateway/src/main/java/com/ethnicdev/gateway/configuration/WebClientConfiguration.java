@@ -2,8 +2,10 @@ package com.ethnicdev.gateway.configuration;
 
 import java.util.List;
 
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
@@ -11,14 +13,72 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import com.ethnicdev.gateway.loadbalancer.OutstandingRequestExchangeFilterFunction;
 import com.ethnicdev.gateway.repository.IdentityClient;
+import com.ethnicdev.gateway.repository.ProfileClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfiguration {
 
     @Bean
-    WebClient webClient() {
-        return WebClient.builder().baseUrl("http://localhost:8080/identity").build();
+    WebClient webClient(
+            IdentityClientProperties properties,
+            OutstandingRequestExchangeFilterFunction outstandingRequestFunction,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("identity")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)
+                        properties.getConnectTimeout().toMillis())
+                .keepAlive(true)
+                .responseTimeout(properties.getResponseTimeout())
+                .protocol(
+                        properties.isH2c()
+                                ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                                : new HttpProtocol[] {HttpProtocol.HTTP11});
+        return WebClient.builder()
+                .baseUrl(properties.getUrl())
+                .filter(outstandingRequestFunction)
+                .filter(loadBalancerFunction)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Bean
+    WebClient profileWebClient(
+            ProfileClientProperties properties,
+            OutstandingRequestExchangeFilterFunction outstandingRequestFunction,
+            ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("profile")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)
+                        properties.getConnectTimeout().toMillis())
+                .keepAlive(true)
+                .responseTimeout(properties.getResponseTimeout());
+        return WebClient.builder()
+                .baseUrl(properties.getUrl())
+                .filter(outstandingRequestFunction)
+                .filter(loadBalancerFunction)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 
     @Bean
@@ -41,4 +101,12 @@ public class WebClientConfiguration {
                 .build();
         return httpServiceProxyFactory.createClient(IdentityClient.class);
     }
+
+    @Bean
+    ProfileClient profileClient(WebClient profileWebClient) {
+        HttpServiceProxyFactory httpServiceProxyFactory = HttpServiceProxyFactory.builderFor(
+                        WebClientAdapter.create(profileWebClient))
+                .build();
+        return httpServiceProxyFactory.createClient(ProfileClient.class);
+    }
 }
@@ -0,0 +1,73 @@
+package com.ethnicdev.gateway.controller;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ethnicdev.gateway.configuration.AuthenticationFilter;
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.MeResponse;
+import com.ethnicdev.gateway.service.MeService;
+import com.ethnicdev.gateway.service.TokenVerifier;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Served by the gateway itself, so it is not behind the route filters and authenticates on its own.
+ */
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MeController {
+
+    TokenVerifier tokenVerifier;
+
+    MeService meService;
+
+    @GetMapping("${app.api-prefix}/me")
+    Mono<ResponseEntity<ApiResponse<MeResponse>>> getMe(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (Objects.isNull(authorization)) {
+            return Mono.just(unauthenticated());
+        }
+        return this.tokenVerifier
+                .verify(AuthenticationFilter.extractToken(authorization))
+                .onErrorResume(throwable -> Mono.empty())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(claims -> claims.isEmpty()
+                        ? Mono.just(unauthenticated())
+                        : this.meService.getMe(claims.get()).map(MeController::toResponse));
+    }
+
+    private static ResponseEntity<ApiResponse<MeResponse>> toResponse(MeResponse me) {
+        if (me.getUnavailable().size() == 2) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.<MeResponse>builder()
+                            .code(1503)
+                            .message("Service is busy, please retry later.")
+                            .build());
+        }
+        return ResponseEntity.ok(ApiResponse.<MeResponse>builder()
+                .message(me.getUnavailable().isEmpty() ? null : "Partial result.")
+                .result(me)
+                .build());
+    }
+
+    private static ResponseEntity<ApiResponse<MeResponse>> unauthenticated() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(ApiResponse.<MeResponse>builder()
+                        .code(1401)
+                        .message("Unauthenticated")
+                        .build());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ethnicdev.gateway.dto.response;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class MeResponse {
+
+    UserResponse user;
+
+    UserProfileResponse profile;
+
+    /**
+     * Services that did not answer in time, their part of the response is null.
+     */
+    List<String> unavailable;
+}
@@ -0,0 +1,22 @@
+package com.ethnicdev.gateway.dto.response;
+
+import java.util.Date;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RevokedTokenResponse {
+
+    String id;
+
+    Date expiryTime;
+}
@@ -0,0 +1,24 @@
+package com.ethnicdev.gateway.dto.response;
+
+import java.util.Set;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoleResponse {
+
+    String name;
+
+    String description;
+
+    Set<PermissionResponse> permissions;
+}
@@ -0,0 +1,28 @@
+package com.ethnicdev.gateway.dto.response;
+
+import java.time.LocalDate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserProfileResponse {
+
+    String id;
+
+    String firstName;
+
+    String lastName;
+
+    LocalDate dob;
+
+    String city;
+}
@@ -0,0 +1,31 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Registered before the load balancer function of a WebClient so the outstanding request is released on
+ * cancellation too, e.g. a lost hedge or a deadline.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutstandingRequestExchangeFilterFunction implements ExchangeFilterFunction {
+
+    UpstreamStats upstreamStats;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return this.upstreamStats.track(outstanding -> next.exchange(ClientRequest.from(request)
+                .attribute(UpstreamStats.OUTSTANDING_ATTRIBUTE, outstanding)
+                .build()));
+    }
+}
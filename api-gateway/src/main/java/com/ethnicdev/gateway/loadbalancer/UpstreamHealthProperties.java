@@ -0,0 +1,22 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.load-balancer")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UpstreamHealthProperties {
+
+    /**
+     * Consecutive failures (connect errors or 5xx) before an instance is ejected.
+     */
+    int failureThreshold = 3;
+
+    Duration ejectionTime = Duration.ofSeconds(10);
+}
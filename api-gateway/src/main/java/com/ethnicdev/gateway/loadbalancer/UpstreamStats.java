@@ -0,0 +1,107 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Outstanding requests and passive health of every upstream instance, shared by all load balancers.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UpstreamStats {
+
+    // Request attribute holding the Outstanding of the call, the load balancer lifecycle finds it there
+    static final String OUTSTANDING_ATTRIBUTE = UpstreamStats.class.getName() + ".outstanding";
+
+    private static final InstanceStats RELEASED = new InstanceStats();
+
+    UpstreamHealthProperties properties;
+
+    Map<String, InstanceStats> instances = new ConcurrentHashMap<>();
+
+    public int outstanding(ServiceInstance instance) {
+        return this.of(instance).outstanding.get();
+    }
+
+    public boolean isEjected(ServiceInstance instance) {
+        return this.of(instance).ejectedUntil > System.nanoTime();
+    }
+
+    /**
+     * Counts the call as outstanding on the instance the load balancer picks for it until the call completes, fails
+     * or is cancelled. The load balancer lifecycle only reports completions, a cancelled call would leak.
+     */
+    <T> Mono<T> track(Function<Outstanding, Mono<T>> call) {
+        return Mono.defer(() -> {
+            Outstanding outstanding = new Outstanding();
+            return call.apply(outstanding).doFinally(signal -> outstanding.release());
+        });
+    }
+
+    public void onStart(Map<String, Object> attributes, ServiceInstance instance) {
+        if (attributes.get(OUTSTANDING_ATTRIBUTE) instanceof Outstanding outstanding) {
+            outstanding.acquire(this.of(instance));
+        }
+    }
+
+    public void onComplete(ServiceInstance instance, boolean failed) {
+        InstanceStats stats = this.of(instance);
+        if (!failed) {
+            stats.consecutiveFailures.set(0);
+            return;
+        }
+        if (stats.consecutiveFailures.incrementAndGet() >= this.properties.getFailureThreshold()) {
+            stats.consecutiveFailures.set(0);
+            stats.ejectedUntil =
+                    System.nanoTime() + this.properties.getEjectionTime().toNanos();
+        }
+    }
+
+    private InstanceStats of(ServiceInstance instance) {
+        return this.instances.computeIfAbsent(
+                instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort(),
+                key -> new InstanceStats());
+    }
+
+    static final class Outstanding {
+
+        final AtomicReference<InstanceStats> stats = new AtomicReference<>();
+
+        void acquire(InstanceStats instanceStats) {
+            instanceStats.outstanding.incrementAndGet();
+            // Already released, the call was cancelled while the instance was being picked
+            if (!this.stats.compareAndSet(null, instanceStats)) {
+                instanceStats.outstanding.decrementAndGet();
+            }
+        }
+
+        void release() {
+            InstanceStats instanceStats = this.stats.getAndSet(RELEASED);
+            if (Objects.nonNull(instanceStats) && instanceStats != RELEASED) {
+                instanceStats.outstanding.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class InstanceStats {
+
+        final AtomicInteger outstanding = new AtomicInteger();
+
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        volatile long ejectedUntil;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.util.Objects;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Feeds {@link UpstreamStats} from both gateway routes and the load balanced WebClients. Outstanding requests are
+ * released by {@link OutstandingRequestFilter} and {@link OutstandingRequestExchangeFilterFunction}, which also see
+ * cancellations.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UpstreamStatsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    UpstreamStats upstreamStats;
+
+    @Override
+    public void onStart(Request<Object> request) {}
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse.hasServer()
+                && request.getContext() instanceof RequestDataContext context
+                && Objects.nonNull(context.getClientRequest())
+                && Objects.nonNull(context.getClientRequest().getAttributes())) {
+            this.upstreamStats.onStart(context.getClientRequest().getAttributes(), lbResponse.getServer());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (Objects.isNull(lbResponse) || !lbResponse.hasServer()) {
+            return;
+        }
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (completionContext.getClientResponse() instanceof ResponseData responseData
+                        && Objects.nonNull(responseData.getHttpStatus())
+                        && responseData.getHttpStatus().is5xxServerError());
+        this.upstreamStats.onComplete(lbResponse.getServer(), failed);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ethnicdev.gateway.policy;
+
+public enum AccessPolicy {
+    PUBLIC,
+    AUTHENTICATED,
+    SCOPES,
+    DENY,
+    ;
+}
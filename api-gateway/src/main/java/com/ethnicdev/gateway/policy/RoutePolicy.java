@@ -0,0 +1,65 @@
+package com.ethnicdev.gateway.policy;
+
+import java.util.List;
+import java.util.Objects;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RoutePolicy {
+
+    AccessPolicy accessPolicy;
+
+    String[] scopes;
+
+    public RoutePolicy(AccessPolicy accessPolicy, List<String> scopes) {
+        this.accessPolicy = accessPolicy;
+        this.scopes = scopes.toArray(String[]::new);
+    }
+
+    public boolean isPublic() {
+        return this.accessPolicy == AccessPolicy.PUBLIC;
+    }
+
+    public boolean isDenied() {
+        return this.accessPolicy == AccessPolicy.DENY;
+    }
+
+    /**
+     * Check the space separated scope claim of a token against the required scopes without splitting it.
+     */
+    public boolean isGranted(String scopeClaim) {
+        if (this.accessPolicy != AccessPolicy.SCOPES) {
+            return true;
+        }
+        if (Objects.isNull(scopeClaim)) {
+            return this.scopes.length == 0;
+        }
+        for (String scope : this.scopes) {
+            if (!containsScope(scopeClaim, scope)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsScope(String scopeClaim, String scope) {
+        int from = 0;
+        while (true) {
+            int index = scopeClaim.indexOf(scope, from);
+            if (index < 0) {
+                return false;
+            }
+            int end = index + scope.length();
+            boolean startsToken = index == 0 || scopeClaim.charAt(index - 1) == ' ';
+            boolean endsToken = end == scopeClaim.length() || scopeClaim.charAt(end) == ' ';
+            if (startsToken && endsToken) {
+                return true;
+            }
+            from = index + 1;
+        }
+    }
+}
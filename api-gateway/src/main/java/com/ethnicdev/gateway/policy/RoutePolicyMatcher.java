@@ -0,0 +1,172 @@
+package com.ethnicdev.gateway.policy;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Route policies compiled at startup into a segment trie.
+ *
+ * <p>Each literal level is an open addressing table keyed by the segment hash, computed in place over the
+ * request path, so a lookup walks the path once and allocates nothing. Literal segments win over {@code *}
+ * and {@code *} wins over {@code **}; only wildcards can cause backtracking.
+ */
+@Component
+public class RoutePolicyMatcher {
+
+    private final Node root = new Node();
+
+    private final RoutePolicy defaultPolicy;
+
+    public RoutePolicyMatcher(RoutePolicyProperties properties, @Value("${app.api-prefix}") String apiPrefix) {
+        this.defaultPolicy = new RoutePolicy(properties.getDefaultPolicy(), List.of());
+        for (RoutePolicyProperties.Route route : properties.getRoutes()) {
+            this.add(apiPrefix + route.getPath(), new RoutePolicy(route.getPolicy(), route.getScopes()));
+        }
+    }
+
+    public RoutePolicy match(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        RoutePolicy policy = match(this.root, path, start);
+        return Objects.nonNull(policy) ? policy : this.defaultPolicy;
+    }
+
+    private void add(String pattern, RoutePolicy policy) {
+        Node node = this.root;
+        String[] segments = Arrays.stream(pattern.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of " + pattern);
+                }
+                node.tailPolicy = checkDuplicate(node.tailPolicy, policy, pattern);
+                return;
+            }
+            node = "*".equals(segment) ? node.wildcardChild() : node.literalChild(segment);
+        }
+        node.policy = checkDuplicate(node.policy, policy, pattern);
+    }
+
+    private static RoutePolicy checkDuplicate(RoutePolicy existing, RoutePolicy policy, String pattern) {
+        if (Objects.nonNull(existing)) {
+            throw new IllegalArgumentException("Duplicate route policy for " + pattern);
+        }
+        return policy;
+    }
+
+    private static RoutePolicy match(Node node, String path, int start) {
+        if (start >= path.length()) {
+            return Objects.nonNull(node.policy) ? node.policy : node.tailPolicy;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        if (isDotSegment(path, start, end)) {
+            // Never let a relative segment resolve to a more permissive policy
+            return null;
+        }
+        RoutePolicy policy = null;
+        Node literal = node.find(path, start, end);
+        if (Objects.nonNull(literal)) {
+            policy = match(literal, path, end + 1);
+        }
+        if (Objects.isNull(policy) && Objects.nonNull(node.wildcard)) {
+            policy = match(node.wildcard, path, end + 1);
+        }
+        return Objects.nonNull(policy) ? policy : node.tailPolicy;
+    }
+
+    private static boolean isDotSegment(String path, int start, int end) {
+        int length = end - start;
+        return (length == 1 && path.charAt(start) == '.')
+                || (length == 2 && path.charAt(start) == '.' && path.charAt(start + 1) == '.');
+    }
+
+    private static int hash(CharSequence value, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Node {
+
+        String[] keys = new String[4];
+
+        Node[] children = new Node[4];
+
+        int size;
+
+        Node wildcard;
+
+        RoutePolicy policy;
+
+        RoutePolicy tailPolicy;
+
+        Node wildcardChild() {
+            if (Objects.isNull(this.wildcard)) {
+                this.wildcard = new Node();
+            }
+            return this.wildcard;
+        }
+
+        Node literalChild(String segment) {
+            Node existing = this.find(segment, 0, segment.length());
+            if (Objects.nonNull(existing)) {
+                return existing;
+            }
+            if ((this.size + 1) * 2 > this.keys.length) {
+                this.resize();
+            }
+            Node child = new Node();
+            this.insert(segment, child);
+            return child;
+        }
+
+        Node find(String path, int start, int end) {
+            int length = end - start;
+            int mask = this.keys.length - 1;
+            for (int index = hash(path, start, end) & mask; ; index = (index + 1) & mask) {
+                String key = this.keys[index];
+                if (Objects.isNull(key)) {
+                    return null;
+                }
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return this.children[index];
+                }
+            }
+        }
+
+        private void insert(String segment, Node child) {
+            int mask = this.keys.length - 1;
+            int index = hash(segment, 0, segment.length()) & mask;
+            while (Objects.nonNull(this.keys[index])) {
+                index = (index + 1) & mask;
+            }
+            this.keys[index] = segment;
+            this.children[index] = child;
+            this.size++;
+        }
+
+        private void resize() {
+            String[] oldKeys = this.keys;
+            Node[] oldChildren = this.children;
+            this.keys = new String[oldKeys.length * 2];
+            this.children = new Node[oldChildren.length * 2];
+            this.size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (Objects.nonNull(oldKeys[i])) {
+                    this.insert(oldKeys[i], oldChildren[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ethnicdev.gateway.policy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.auth")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RoutePolicyProperties {
+
+    AccessPolicy defaultPolicy = AccessPolicy.AUTHENTICATED;
+
+    List<Route> routes = new ArrayList<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Route {
+
+        /**
+         * Path below the api prefix, segments may be {@code *} (one segment) or a trailing {@code **} (any rest).
+         */
+        String path;
+
+        AccessPolicy policy = AccessPolicy.AUTHENTICATED;
+
+        List<String> scopes = new ArrayList<>();
+    }
+}
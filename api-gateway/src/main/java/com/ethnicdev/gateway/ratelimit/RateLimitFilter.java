@@ -0,0 +1,116 @@
+package com.ethnicdev.gateway.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ethnicdev.gateway.configuration.AuthenticationFilter;
+import com.ethnicdev.gateway.configuration.ErrorResponseWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory rate limiting per gateway route, keyed by client address, user or the whole route.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    RateLimitProperties properties;
+
+    ErrorResponseWriter errorResponseWriter;
+
+    RemoteAddressResolver remoteAddressResolver;
+
+    Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties, ErrorResponseWriter errorResponseWriter) {
+        this.properties = properties;
+        this.errorResponseWriter = errorResponseWriter;
+        this.remoteAddressResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : new RemoteAddressResolver() {};
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public int getOrder() {
+        // After authentication so requests can be keyed by user
+        return 0;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!this.properties.isEnabled() || Objects.isNull(route)) {
+            return chain.filter(exchange);
+        }
+        RateLimitProperties.Limit limit = this.properties.getRoutes().get(route.getId());
+        if (Objects.isNull(limit)) {
+            return chain.filter(exchange);
+        }
+        String key = route.getId() + ':' + this.keyOf(exchange, limit.getKey());
+        TokenBucket bucket =
+                this.buckets.get(key, ignored -> new TokenBucket(limit.getCapacity(), limit.getReplenishRate()));
+        long now = System.nanoTime();
+        long result = bucket.tryAcquire(now);
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(LIMIT_HEADER, String.valueOf(limit.getCapacity()));
+        if (result >= 0) {
+            headers.set(REMAINING_HEADER, String.valueOf(result));
+            headers.set(RESET_HEADER, String.valueOf(toSeconds(bucket.nanosUntilFull(now))));
+            return chain.filter(exchange);
+        }
+        long retryAfterSeconds = Math.max(1, toSeconds(-result));
+        headers.set(REMAINING_HEADER, "0");
+        headers.set(RESET_HEADER, String.valueOf(retryAfterSeconds));
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return this.errorResponseWriter.tooManyRequests(exchange.getResponse());
+    }
+
+    private static long toSeconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L);
+    }
+
+    private String keyOf(ServerWebExchange exchange, RateLimitProperties.KeyType keyType) {
+        if (keyType == RateLimitProperties.KeyType.ROUTE) {
+            return "*";
+        }
+        if (keyType == RateLimitProperties.KeyType.USER) {
+            JWTClaimsSet claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTRIBUTE);
+            if (Objects.nonNull(claims) && Objects.nonNull(claims.getSubject())) {
+                return claims.getSubject();
+            }
+        }
+        InetSocketAddress address = this.remoteAddressResolver.resolve(exchange);
+        return Objects.nonNull(address) && Objects.nonNull(address.getAddress())
+                ? address.getAddress().getHostAddress()
+                : "unknown";
+    }
+}
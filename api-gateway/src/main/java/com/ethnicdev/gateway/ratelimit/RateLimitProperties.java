@@ -0,0 +1,57 @@
+package com.ethnicdev.gateway.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RateLimitProperties {
+
+    boolean enabled = true;
+
+    /**
+     * Upper bound of buckets kept in memory, least recently used keys go first.
+     */
+    long maximumKeys = 1_000_000;
+
+    /**
+     * Buckets not touched for this long are dropped, an idle bucket would be full again anyway.
+     */
+    Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Proxies in front of the gateway whose X-Forwarded-For entries are trusted, 0 uses the socket address.
+     */
+    int trustedProxies = 0;
+
+    /**
+     * Gateway route id -> limit, routes without an entry are not limited.
+     */
+    Map<String, Limit> routes = new HashMap<>();
+
+    @Data
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Limit {
+
+        int capacity = 20;
+
+        double replenishRate = 10;
+
+        KeyType key = KeyType.IP;
+    }
+
+    public enum KeyType {
+        IP,
+        USER,
+        ROUTE,
+        ;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ethnicdev.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implemented as a generic cell rate algorithm: the whole state is one theoretical arrival time,
+ * updated with a single compare-and-set and no lock.
+ */
+public class TokenBucket {
+
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(int capacity, double replenishRate) {
+        this.emissionInterval = (long) (1_000_000_000L / replenishRate);
+        this.burstTolerance = this.emissionInterval * capacity;
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @return Remaining tokens if allowed, otherwise minus the nanoseconds until a token is available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = this.theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + this.emissionInterval;
+            long allowAt = next - this.burstTolerance;
+            if (allowAt > now) {
+                return -Math.max(1, allowAt - now);
+            }
+            if (this.theoreticalArrivalTime.compareAndSet(current, next)) {
+                return (now - allowAt) / this.emissionInterval;
+            }
+        }
+    }
+
+    /**
+     * @return Nanoseconds until every token is back
+     */
+    public long nanosUntilFull(long now) {
+        long current = this.theoreticalArrivalTime.get();
+        return current == Long.MIN_VALUE ? 0 : Math.max(0, current - now);
+    }
+}
@@ -1,12 +1,21 @@
 package com.ethnicdev.gateway.repository;
 
+import java.util.List;
+
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.PostExchange;
 
+import com.ethnicdev.gateway.dto.request.BatchIntrospectRequest;
 import com.ethnicdev.gateway.dto.request.IntrospectRequest;
 import com.ethnicdev.gateway.dto.response.ApiResponse;
 import com.ethnicdev.gateway.dto.response.IntrospectResponse;
+import com.ethnicdev.gateway.dto.response.RevocationResponse;
+import com.ethnicdev.gateway.dto.response.UserResponse;
+import com.ethnicdev.gateway.service.IdentityEnvelopeSigner;
 
 import reactor.core.publisher.Mono;
 
@@ -14,4 +23,18 @@ public interface IdentityClient {
 
     @PostExchange(url = "/auth/introspect", contentType = MediaType.APPLICATION_JSON_VALUE)
     Mono<ApiResponse<IntrospectResponse>> introspect(@RequestBody IntrospectRequest request);
+
+    @PostExchange(url = "/auth/introspect/batch", contentType = MediaType.APPLICATION_JSON_VALUE)
+    Mono<ApiResponse<List<IntrospectResponse>>> introspectBatch(@RequestBody BatchIntrospectRequest request);
+
+    @GetExchange(url = "/users/myInfo")
+    Mono<ApiResponse<UserResponse>> getMyInfo(@RequestHeader(IdentityEnvelopeSigner.HEADER) String envelope);
+
+    @GetExchange(url = "/.well-known/jwks.json")
+    Mono<String> getJwkSet();
+
+    @GetExchange(url = "/internal/revocations")
+    Mono<ApiResponse<RevocationResponse>> getRevocations(
+            @RequestHeader(IdentityEnvelopeSigner.HEADER) String serviceEnvelope,
+            @RequestParam(required = false) Long since);
 }
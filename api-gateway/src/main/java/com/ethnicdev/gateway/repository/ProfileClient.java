@@ -0,0 +1,15 @@
+package com.ethnicdev.gateway.repository;
+
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.service.annotation.GetExchange;
+
+import com.ethnicdev.gateway.dto.response.UserProfileResponse;
+import com.ethnicdev.gateway.service.IdentityEnvelopeSigner;
+
+import reactor.core.publisher.Mono;
+
+public interface ProfileClient {
+
+    @GetExchange(url = "/users/my-profile")
+    Mono<UserProfileResponse> getMyProfile(@RequestHeader(IdentityEnvelopeSigner.HEADER) String envelope);
+}
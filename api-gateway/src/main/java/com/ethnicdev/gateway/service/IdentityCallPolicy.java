@@ -0,0 +1,62 @@
+package com.ethnicdev.gateway.service;
+
+import java.time.Duration;
+
+import org.springframework.stereotype.Component;
+
+import com.ethnicdev.gateway.configuration.IdentityClientProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deadline, hedging and timing applied around calls to the identity service.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IdentityCallPolicy {
+
+    IdentityClientProperties properties;
+
+    MeterRegistry meterRegistry;
+
+    public <T> Mono<T> withDeadline(String operation, Mono<T> call) {
+        return this.timed(operation, call.timeout(this.properties.getDeadline()));
+    }
+
+    /**
+     * Only for idempotent calls: a second attempt starts after the hedge delay and the first value wins.
+     */
+    public <T> Mono<T> hedged(String operation, Mono<T> call) {
+        Duration hedgeDelay = this.properties.getHedgeDelay();
+        if (hedgeDelay.isZero() || hedgeDelay.isNegative()) {
+            return this.withDeadline(operation, call);
+        }
+        return this.withDeadline(
+                operation, Mono.firstWithValue(call, Mono.delay(hedgeDelay).then(call)));
+    }
+
+    /**
+     * Records {@code gateway.identity.client.requests} as seen by the caller, hedged attempts included.
+     */
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(this.meterRegistry);
+            return call.doOnSuccess(value -> this.stop(sample, operation, "success"))
+                    .doOnError(throwable -> this.stop(sample, operation, "error"))
+                    .doOnCancel(() -> this.stop(sample, operation, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("gateway.identity.client.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(this.meterRegistry));
+    }
+}
@@ -1,26 +1,161 @@
 package com.ethnicdev.gateway.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.ethnicdev.gateway.dto.request.IntrospectRequest;
-import com.ethnicdev.gateway.dto.response.ApiResponse;
 import com.ethnicdev.gateway.dto.response.IntrospectResponse;
 import com.ethnicdev.gateway.repository.IdentityClient;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nimbusds.jwt.SignedJWT;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
 public class IdentityService {
 
     IdentityClient identityClient;
 
-    public Mono<ApiResponse<IntrospectResponse>> introspect(String token) {
-        return this.identityClient.introspect(
-                IntrospectRequest.builder().token(token).build());
+    IntrospectionBatcher introspectionBatcher;
+
+    IdentityCallPolicy identityCallPolicy;
+
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    @Value("${app.auth.introspection.batch.enabled}")
+    boolean batchEnabled;
+
+    @NonFinal
+    @Value("${app.auth.introspection.cache.maximum-size}")
+    long cacheMaximumSize;
+
+    @NonFinal
+    @Value("${app.auth.introspection.cache.ttl}")
+    Duration cacheTtl;
+
+    @NonFinal
+    @Value("${app.auth.introspection.cache.negative-ttl}")
+    Duration cacheNegativeTtl;
+
+    // Token digest -> introspection result, a pending entry is shared by every concurrent caller
+    @NonFinal
+    AsyncCache<String, CachedIntrospection> cache;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.cacheMaximumSize)
+                .expireAfter(new Expiry<String, CachedIntrospection>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedIntrospection value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(
+                            String key, CachedIntrospection value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(
+                            String key, CachedIntrospection value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.cache, "gateway.introspection-cache");
     }
+
+    public Mono<IntrospectResponse> introspect(String token) {
+        // Waiters must not cancel the shared lookup when they go away
+        return Mono.fromFuture(
+                        () -> this.cache.get(this.digest(token), (key, executor) -> this.load(token)
+                                .toFuture()),
+                        true)
+                .map(CachedIntrospection::response);
+    }
+
+    public CacheStats cacheStats() {
+        return this.cache.synchronous().stats();
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.introspection.cache.stats-log-interval}")
+    void logCacheStats() {
+        CacheStats stats = this.cacheStats();
+        log.info(
+                "Introspection cache: size={}, hits={}, misses={}, evictions={}",
+                this.cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount());
+    }
+
+    private Mono<CachedIntrospection> load(String token) {
+        Mono<IntrospectResponse> introspection = this.batchEnabled
+                ? this.introspectionBatcher.introspect(token)
+                : this.identityCallPolicy
+                        .hedged(
+                                "introspect",
+                                this.identityClient.introspect(
+                                        IntrospectRequest.builder().token(token).build()))
+                        .map(apiResponse ->
+                                Objects.requireNonNullElse(apiResponse.getResult(), IntrospectionBatcher.INVALID));
+        return introspection.map(response -> new CachedIntrospection(response, this.ttlOf(token, response)));
+    }
+
+    private long ttlOf(String token, IntrospectResponse response) {
+        if (!response.isValid()) {
+            return this.cacheNegativeTtl.toNanos();
+        }
+        try {
+            Date expiryTime = SignedJWT.parse(token).getJWTClaimsSet().getExpirationTime();
+            if (Objects.isNull(expiryTime)) {
+                return 0;
+            }
+            long untilExpiry = Duration.ofMillis(expiryTime.getTime() - System.currentTimeMillis())
+                    .toNanos();
+            return Math.max(0, Math.min(untilExpiry, this.cacheTtl.toNanos()));
+        } catch (ParseException e) {
+            return 0;
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedIntrospection(IntrospectResponse response, long ttlNanos) {}
 }
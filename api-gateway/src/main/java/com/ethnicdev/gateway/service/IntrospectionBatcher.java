@@ -0,0 +1,127 @@
+package com.ethnicdev.gateway.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.gateway.dto.request.BatchIntrospectRequest;
+import com.ethnicdev.gateway.dto.response.IntrospectResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Gathers concurrent introspections into batches bounded by size and wait time.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class IntrospectionBatcher {
+
+    public static final IntrospectResponse INVALID =
+            IntrospectResponse.builder().valid(false).build();
+
+    IdentityClient identityClient;
+
+    IdentityCallPolicy identityCallPolicy;
+
+    @NonFinal
+    @Value("${app.auth.introspection.batch.max-size}")
+    int maxSize;
+
+    @NonFinal
+    @Value("${app.auth.introspection.batch.max-wait}")
+    Duration maxWait;
+
+    @NonFinal
+    @Value("${app.auth.introspection.batch.concurrency}")
+    int concurrency;
+
+    @NonFinal
+    @Value("${app.auth.introspection.batch.timeout}")
+    Duration timeout;
+
+    // Replaced when the pipeline is resubscribed after an error
+    @NonFinal
+    volatile FluxSink<PendingIntrospection> sink;
+
+    @NonFinal
+    Disposable subscription;
+
+    @PostConstruct
+    void start() {
+        // Flux.create serializes next() calls coming from many event loop threads
+        this.subscription = Flux.<PendingIntrospection>create(fluxSink -> this.sink = fluxSink)
+                // Fair: holds a buffer until flatMap has a free slot instead of failing with an overflow
+                .bufferTimeout(this.maxSize, this.maxWait, true)
+                .flatMap(this::send, this.concurrency)
+                // A dead pipeline would leave every later introspection waiting, waiters of lost batches time out
+                .doOnError(throwable -> log.error("Introspection batching failed, restarting", throwable))
+                .retry()
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        this.subscription.dispose();
+    }
+
+    public Mono<IntrospectResponse> introspect(String token) {
+        return Mono.defer(() -> {
+            Sinks.One<IntrospectResponse> result = Sinks.one();
+            this.sink.next(new PendingIntrospection(token, result));
+            return result.asMono().timeout(this.timeout);
+        });
+    }
+
+    private Mono<Void> send(List<PendingIntrospection> batch) {
+        // The batch endpoint only reads, so it is safe to hedge
+        return this.identityCallPolicy
+                .hedged(
+                        "introspect_batch",
+                        this.identityClient.introspectBatch(BatchIntrospectRequest.builder()
+                                .tokens(batch.stream()
+                                        .map(PendingIntrospection::token)
+                                        .toList())
+                                .build()))
+                .doOnNext(apiResponse -> {
+                    List<IntrospectResponse> results = apiResponse.getResult();
+                    for (int i = 0; i < batch.size(); i++) {
+                        IntrospectResponse response =
+                                Objects.nonNull(results) && i < results.size() ? results.get(i) : INVALID;
+                        batch.get(i).result().tryEmitValue(response);
+                    }
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> {
+                    log.warn("Batch introspection returned no body");
+                    batch.forEach(pending -> pending.result().tryEmitValue(INVALID));
+                }))
+                .doOnError(throwable -> {
+                    log.warn("Batch introspection failed: {}", throwable.getMessage());
+                    batch.forEach(pending -> pending.result().tryEmitError(throwable));
+                })
+                // Cancelled on shutdown, no waiter is left without a signal
+                .doFinally(signal -> batch.forEach(pending -> pending.result()
+                        .tryEmitError(new IllegalStateException("Batch introspection ended without a result"))))
+                .onErrorResume(throwable -> Mono.empty())
+                .then();
+    }
+
+    private record PendingIntrospection(String token, Sinks.One<IntrospectResponse> result) {}
+}
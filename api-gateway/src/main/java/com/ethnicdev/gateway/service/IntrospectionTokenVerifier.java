@@ -0,0 +1,32 @@
+package com.ethnicdev.gateway.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.gateway.dto.response.IntrospectResponse;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.auth", name = "verification-mode", havingValue = "introspect")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IntrospectionTokenVerifier implements TokenVerifier {
+
+    IdentityService identityService;
+
+    @Override
+    public Mono<JWTClaimsSet> verify(String token) {
+        // Identity service already checked the signature, so the claims can be read without verifying again
+        return this.identityService
+                .introspect(token)
+                .filter(IntrospectResponse::isValid)
+                .flatMap(introspectResponse ->
+                        Mono.fromCallable(() -> SignedJWT.parse(token).getJWTClaimsSet()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.ethnicdev.gateway.service;
+
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.gateway.repository.IdentityClient;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Local copy of the identity service JWK Set, refreshed in the background so that verifying a token never waits on
+ * the network. A token with an unknown key id triggers an early refresh, at most once per
+ * {@link #MIN_REFRESH_INTERVAL}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.auth", name = "verification-mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class JwkSetService {
+
+    static final long MIN_REFRESH_INTERVAL = 5000;
+
+    IdentityClient identityClient;
+
+    IdentityCallPolicy identityCallPolicy;
+
+    AtomicLong refreshedAt = new AtomicLong();
+
+    // Key id -> verifier, verifiers are thread-safe and built once per refresh
+    @NonFinal
+    volatile Map<String, JWSVerifier> verifiers = Map.of();
+
+    public Mono<JWSVerifier> getVerifier(String keyId) {
+        if (Objects.isNull(keyId)) {
+            return Mono.empty();
+        }
+        JWSVerifier verifier = this.verifiers.get(keyId);
+        if (Objects.nonNull(verifier)) {
+            return Mono.just(verifier);
+        }
+        long last = this.refreshedAt.get();
+        long now = System.currentTimeMillis();
+        if (now - last < MIN_REFRESH_INTERVAL || !this.refreshedAt.compareAndSet(last, now)) {
+            return Mono.empty();
+        }
+        return this.fetch().then(Mono.fromSupplier(() -> this.verifiers.get(keyId)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.jwks-refresh-interval}")
+    void refresh() {
+        this.refreshedAt.set(System.currentTimeMillis());
+        try {
+            this.fetch().block();
+        } catch (RuntimeException e) {
+            log.warn("Cannot fetch JWK set: {}", e.getMessage());
+        }
+    }
+
+    private Mono<Void> fetch() {
+        return this.identityCallPolicy
+                .withDeadline("jwks", this.identityClient.getJwkSet())
+                .doOnNext(this::update)
+                .onErrorResume(e -> {
+                    log.warn("Cannot fetch JWK set: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void update(String json) {
+        try {
+            Map<String, JWSVerifier> verifiers = new HashMap<>();
+            for (JWK jwk : JWKSet.parse(json).getKeys()) {
+                verifiers.put(jwk.getKeyID(), verifierOf(jwk));
+            }
+            this.verifiers = Map.copyOf(verifiers);
+        } catch (ParseException | JOSEException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static JWSVerifier verifierOf(JWK jwk) throws JOSEException {
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey);
+        }
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey);
+        }
+        throw new JOSEException("Unsupported key type " + jwk.getKeyType());
+    }
+}
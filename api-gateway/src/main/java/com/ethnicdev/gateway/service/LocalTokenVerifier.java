@@ -0,0 +1,65 @@
+package com.ethnicdev.gateway.service;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(prefix = "app.auth", name = "verification-mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class LocalTokenVerifier implements TokenVerifier {
+
+    RevocationService revocationService;
+
+    JwkSetService jwkSetService;
+
+    @Override
+    public Mono<JWTClaimsSet> verify(String token) {
+        SignedJWT signedJWT;
+        try {
+            signedJWT = SignedJWT.parse(token);
+        } catch (ParseException e) {
+            log.debug("Cannot parse token: {}", e.getMessage());
+            return Mono.empty();
+        }
+        return this.jwkSetService
+                .getVerifier(signedJWT.getHeader().getKeyID())
+                .mapNotNull(verifier -> this.verifyNow(signedJWT, verifier));
+    }
+
+    private JWTClaimsSet verifyNow(SignedJWT signedJWT, JWSVerifier verifier) {
+        try {
+            if (!signedJWT.verify(verifier)) {
+                return null;
+            }
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date expiryTime = claims.getExpirationTime();
+            if (Objects.isNull(expiryTime) || !expiryTime.after(new Date())) {
+                return null;
+            }
+            if (this.revocationService.isRevoked(claims.getJWTID())) {
+                return null;
+            }
+            return claims;
+        } catch (ParseException | JOSEException e) {
+            log.debug("Cannot verify token: {}", e.getMessage());
+            return null;
+        }
+    }
+}
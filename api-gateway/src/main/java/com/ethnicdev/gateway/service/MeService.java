@@ -0,0 +1,76 @@
+package com.ethnicdev.gateway.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.gateway.configuration.BffProperties;
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.MeResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+import com.ethnicdev.gateway.repository.ProfileClient;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite of the calls a client makes on start, fanned out in parallel so it costs one round trip.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class MeService {
+
+    IdentityClient identityClient;
+
+    ProfileClient profileClient;
+
+    IdentityEnvelopeSigner identityEnvelopeSigner;
+
+    BffProperties properties;
+
+    public Mono<MeResponse> getMe(JWTClaimsSet claims) {
+        String envelope = this.identityEnvelopeSigner.sign(claims);
+        return Mono.zip(
+                        leg(
+                                "identity",
+                                this.identityClient.getMyInfo(envelope).mapNotNull(ApiResponse::getResult),
+                                this.properties.getIdentityTimeout()),
+                        leg("profile", this.profileClient.getMyProfile(envelope), this.properties.getProfileTimeout()))
+                .map(legs -> {
+                    List<String> unavailable = new ArrayList<>(2);
+                    if (legs.getT1().isEmpty()) {
+                        unavailable.add("identity");
+                    }
+                    if (legs.getT2().isEmpty()) {
+                        unavailable.add("profile");
+                    }
+                    return MeResponse.builder()
+                            .user(legs.getT1().orElse(null))
+                            .profile(legs.getT2().orElse(null))
+                            .unavailable(unavailable)
+                            .build();
+                });
+    }
+
+    /**
+     * A failed or slow leg becomes empty instead of failing the whole response.
+     */
+    private static <T> Mono<Optional<T>> leg(String name, Mono<T> call, Duration timeout) {
+        return call.timeout(timeout)
+                .map(Optional::of)
+                .onErrorResume(throwable -> {
+                    log.warn("{} leg of /me failed: {}", name, throwable.toString());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ethnicdev.gateway.service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.RevocationResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local copy of the revoked token ids, kept current by polling the identity service revocation feed.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.auth", name = "verification-mode", havingValue = "local", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RevocationService {
+
+    IdentityClient identityClient;
+
+    IdentityCallPolicy identityCallPolicy;
+
+    IdentityEnvelopeSigner identityEnvelopeSigner;
+
+    // Token id -> expiry time in millisecond
+    Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    @NonFinal
+    volatile Long cursor;
+
+    public boolean isRevoked(String jti) {
+        return Objects.nonNull(jti) && this.revokedTokens.containsKey(jti);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.revocation-sync-interval}")
+    void sync() {
+        try {
+            ApiResponse<RevocationResponse> response = this.identityCallPolicy
+                    .withDeadline(
+                            "revocations",
+                            this.identityClient.getRevocations(this.identityEnvelopeSigner.signService(), this.cursor))
+                    .block();
+            // Nothing to apply on an empty answer, expired ids below are still swept
+            if (Objects.nonNull(response) && Objects.nonNull(response.getResult())) {
+                RevocationResponse revocations = response.getResult();
+                revocations
+                        .getTokens()
+                        .forEach(token -> this.revokedTokens.put(
+                                token.getId(), token.getExpiryTime().getTime()));
+                this.cursor = revocations.getCursor();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot sync revoked tokens: {}", e.getMessage());
+        }
+        long now = System.currentTimeMillis();
+        this.revokedTokens.values().removeIf(expiryTime -> expiryTime <= now);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ethnicdev.gateway.service;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import reactor.core.publisher.Mono;
+
+public interface TokenVerifier {
+
+    /**
+     * Verify an access token.
+     *
+     * @param token Raw token without the bearer prefix
+     * @return Claims of the token, empty if the token is not valid
+     */
+    Mono<JWTClaimsSet> verify(String token);
+}
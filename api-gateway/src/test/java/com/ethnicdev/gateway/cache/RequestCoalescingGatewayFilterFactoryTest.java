@@ -0,0 +1,144 @@
+package com.ethnicdev.gateway.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class RequestCoalescingGatewayFilterFactoryTest {
+
+    private final GatewayFilter filter = new RequestCoalescingGatewayFilterFactory(
+                    new RequestCoalescingProperties(), new SimpleMeterRegistry())
+            .apply(new RequestCoalescingGatewayFilterFactory.Config());
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final Sinks.Empty<Void> upstreamReady = Sinks.empty();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        this.upstreamCalls.incrementAndGet();
+        return this.upstreamReady.asMono().then(Mono.defer(() -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body = "[{\"id\":\"1\"}]".getBytes(StandardCharsets.UTF_8);
+            return exchange.getResponse()
+                    .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        }));
+    };
+
+    @Test
+    void filter_identicalConcurrentGets_oneUpstreamCall() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+
+        Mono<Void> both =
+                Mono.when(this.filter.filter(first, this.upstream), this.filter.filter(second, this.upstream));
+        both.doOnSubscribe(subscription -> this.upstreamReady.tryEmitEmpty()).block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(1);
+        Assertions.assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":\"1\"}]");
+        Assertions.assertThat(second.getResponse().getHeaders().getContentType())
+                .isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void filter_waiter_onlyRepresentationHeadersReplayed() {
+        GatewayFilterChain withOwnHeaders =
+                exchange -> this.upstream.filter(exchange).doFirst(() -> {
+                    exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "session=leader");
+                    exchange.getResponse().getHeaders().set("RateLimit-Remaining", "9");
+                });
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        first.getResponse().getHeaders().set("RateLimit-Remaining", "9");
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        second.getResponse().getHeaders().set("RateLimit-Remaining", "3");
+
+        Mono.when(this.filter.filter(first, withOwnHeaders), this.filter.filter(second, withOwnHeaders))
+                .doOnSubscribe(subscription -> this.upstreamReady.tryEmitEmpty())
+                .block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(1);
+        Assertions.assertThat(second.getResponse().getHeaders().getFirst("RateLimit-Remaining"))
+                .isEqualTo("3");
+        Assertions.assertThat(second.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE))
+                .isNull();
+        Assertions.assertThat(second.getResponse().getHeaders().getContentType())
+                .isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void filter_slowLeader_waiterGoesUpstreamAfterMaxWait() {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setMaxWait(Duration.ofMillis(50));
+        GatewayFilter impatient = new RequestCoalescingGatewayFilterFactory(properties, new SimpleMeterRegistry())
+                .apply(new RequestCoalescingGatewayFilterFactory.Config());
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        GatewayFilterChain secondUpstream = exchange -> {
+            // Only the waiter's own request releases the leader
+            this.upstreamReady.tryEmitEmpty();
+            return this.upstream.filter(exchange);
+        };
+
+        Mono.when(impatient.filter(first, this.upstream), impatient.filter(second, secondUpstream))
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(2);
+        Assertions.assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":\"1\"}]");
+    }
+
+    @Test
+    void filter_differentQuery_notCoalesced() {
+        this.upstreamReady.tryEmitEmpty();
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users?page=1"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users?page=2"));
+
+        Mono.when(this.filter.filter(first, this.upstream), this.filter.filter(second, this.upstream))
+                .block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void filter_chunkedBodyOverCap_waiterGoesUpstream() {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(8));
+        GatewayFilter capped = new RequestCoalescingGatewayFilterFactory(properties, new SimpleMeterRegistry())
+                .apply(new RequestCoalescingGatewayFilterFactory.Config());
+        GatewayFilterChain chunked = exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            return this.upstreamReady.asMono().then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                return exchange.getResponse()
+                        .writeWith(Flux.just("0123", "4567", "89ab", "cdef").map(chunk -> exchange.getResponse()
+                                .bufferFactory()
+                                .wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+            }));
+        };
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+
+        Mono.when(capped.filter(first, chunked), capped.filter(second, chunked))
+                .doOnSubscribe(subscription -> this.upstreamReady.tryEmitEmpty())
+                .block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(2);
+        Assertions.assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("0123456789abcdef");
+        Assertions.assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("0123456789abcdef");
+    }
+}
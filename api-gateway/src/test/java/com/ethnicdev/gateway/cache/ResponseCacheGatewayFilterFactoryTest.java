@@ -0,0 +1,128 @@
+package com.ethnicdev.gateway.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ResponseCacheGatewayFilterFactoryTest {
+
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+
+    private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory(
+                    new ResponseCache(this.properties, new SimpleMeterRegistry()), this.properties)
+            .apply(new Object());
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        this.upstreamCalls.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse()
+                .writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void filter_secondGet_servedFromCache() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1"));
+        this.filter.filter(first, this.upstream).block();
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1"));
+        this.filter.filter(second, this.upstream).block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(1);
+        Assertions.assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":\"1\"}");
+        Assertions.assertThat(second.getResponse().getHeaders().getETag())
+                .isEqualTo(first.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void filter_ifNoneMatch_notModified() {
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1"));
+        this.filter.filter(first, this.upstream).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange second = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/profile/users/1").header(HttpHeaders.IF_NONE_MATCH, etag));
+        this.filter.filter(second, this.upstream).block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(1);
+        Assertions.assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void filter_writeToPath_invalidates() {
+        this.filter
+                .filter(MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1")), this.upstream)
+                .block();
+        this.filter
+                .filter(MockServerWebExchange.from(MockServerHttpRequest.put("/profile/users/1")), this.upstream)
+                .block();
+        this.filter
+                .filter(MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1")), this.upstream)
+                .block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void filter_chunkedBodyOverCap_streamedAndNotCached() {
+        this.properties.setMaxBodySize(DataSize.ofBytes(8));
+        AtomicInteger chunksRead = new AtomicInteger();
+        GatewayFilterChain chunked = exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse()
+                    .writeWith(Flux.just("0123", "4567", "89ab", "cdef")
+                            .doOnNext(chunk -> chunksRead.incrementAndGet())
+                            .map(chunk -> exchange.getResponse()
+                                    .bufferFactory()
+                                    .wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        this.filter.filter(first, chunked).block();
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users"));
+        this.filter.filter(second, chunked).block();
+
+        Assertions.assertThat(first.getResponse().getBodyAsString().block()).isEqualTo("0123456789abcdef");
+        Assertions.assertThat(first.getResponse().getHeaders().getETag()).isNull();
+        Assertions.assertThat(chunksRead).hasValue(8);
+        Assertions.assertThat(this.upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void filter_chunkedBodyWithinCap_cached() {
+        GatewayFilterChain chunked = exchange -> {
+            this.upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse()
+                    .writeWith(Flux.just("{\"id\"", ":\"1\"}").map(chunk -> exchange.getResponse()
+                            .bufferFactory()
+                            .wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        this.filter
+                .filter(MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1")), chunked)
+                .block();
+        MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/profile/users/1"));
+        this.filter.filter(second, chunked).block();
+
+        Assertions.assertThat(this.upstreamCalls).hasValue(1);
+        Assertions.assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"id\":\"1\"}");
+    }
+}
@@ -0,0 +1,69 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoop;
+
+public class EventLoopLagMonitorTest {
+
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(200);
+
+    private final DefaultEventLoop loop = new DefaultEventLoop();
+
+    private final EventLoopLagMonitor eventLoopLagMonitor = this.monitor();
+
+    @AfterEach
+    void shutdown() {
+        this.eventLoopLagMonitor.stop();
+        this.loop.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void lagNanos_noProbes_zero() {
+        Assertions.assertThat(this.eventLoopLagMonitor.lagNanos()).isZero();
+    }
+
+    @Test
+    void lagNanos_blockedLoop_lagReportedThenRecovered() throws InterruptedException {
+        this.eventLoopLagMonitor.probe(List.of(this.loop));
+        this.loop.execute(() -> sleep(2 * PROBE_INTERVAL.toMillis()));
+
+        Assertions.assertThat(this.await(lag -> lag >= PROBE_INTERVAL.toNanos() / 2))
+                .isTrue();
+        Assertions.assertThat(this.await(lag -> lag < PROBE_INTERVAL.toNanos() / 4))
+                .isTrue();
+    }
+
+    private boolean await(LongPredicate condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (condition.test(this.eventLoopLagMonitor.lagNanos())) {
+                return true;
+            }
+            Thread.sleep(5);
+        }
+        return false;
+    }
+
+    private EventLoopLagMonitor monitor() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setProbeInterval(PROBE_INTERVAL);
+        return new EventLoopLagMonitor(properties, new SimpleMeterRegistry());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
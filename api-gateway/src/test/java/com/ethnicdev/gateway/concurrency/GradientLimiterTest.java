@@ -0,0 +1,58 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GradientLimiterTest {
+
+    @Test
+    void tryAcquire_overLimit_rejected() {
+        GradientLimiter limiter = new GradientLimiter(this.settings(2));
+
+        Assertions.assertThat(limiter.tryAcquire(1.0)).isEqualTo(1);
+        Assertions.assertThat(limiter.tryAcquire(1.0)).isEqualTo(2);
+        Assertions.assertThat(limiter.tryAcquire(1.0)).isNegative();
+    }
+
+    @Test
+    void release_latencyIncreases_limitShrinks() {
+        GradientLimiter limiter = new GradientLimiter(this.settings(20));
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int i = 0; i < 50; i++) {
+            int inflight = limiter.tryAcquire(1.0);
+            limiter.release(fast, Math.max(inflight, limiter.getLimit()), false);
+        }
+        int grown = limiter.getLimit();
+        Assertions.assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            int inflight = limiter.tryAcquire(1.0);
+            limiter.release(slow, Math.max(inflight, limiter.getLimit()), false);
+        }
+        Assertions.assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+
+    @Test
+    void release_dropped_limitShrinks() {
+        GradientLimiter limiter = new GradientLimiter(this.settings(100));
+        int inflight = limiter.tryAcquire(1.0);
+        Assertions.assertThat(limiter.getInflight()).isEqualTo(1);
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), inflight, true);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(90);
+        Assertions.assertThat(limiter.getInflight()).isZero();
+    }
+
+    private ConcurrencyLimitProperties.Limit settings(int initialLimit) {
+        ConcurrencyLimitProperties.Limit settings = new ConcurrencyLimitProperties.Limit();
+        settings.setInitialLimit(initialLimit);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(1000);
+        return settings;
+    }
+}
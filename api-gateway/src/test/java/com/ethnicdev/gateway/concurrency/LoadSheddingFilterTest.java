@@ -0,0 +1,122 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.gateway.configuration.ErrorResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+public class LoadSheddingFilterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(50);
+
+    private final EventLoopLagMonitor eventLoopLagMonitor = Mockito.mock(EventLoopLagMonitor.class);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final GatewayFilterChain chain = exchange -> {
+        this.forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private LoadSheddingFilter loadSheddingFilter;
+
+    @BeforeEach
+    void initData() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setLagThreshold(THRESHOLD);
+        properties.setRules(List.of(
+                this.rule("/identity/auth/token", RequestPriority.CRITICAL),
+                this.rule("/identity/users", RequestPriority.SHEDDABLE)));
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(new ObjectMapper());
+        ReflectionTestUtils.invokeMethod(errorResponseWriter, "init");
+        this.loadSheddingFilter = new LoadSheddingFilter(
+                properties,
+                new RequestPriorityResolver(properties, "/api/v1"),
+                this.eventLoopLagMonitor,
+                errorResponseWriter,
+                this.meterRegistry);
+    }
+
+    @Test
+    void filter_lagBelowThreshold_nothingShed() {
+        this.lag(THRESHOLD.minusMillis(1));
+
+        Assertions.assertThat(this.filter("/api/v1/identity/users")).isNull();
+        Assertions.assertThat(this.filter("/api/v1/profile/users/1")).isNull();
+        Assertions.assertThat(this.filter("/api/v1/identity/auth/token")).isNull();
+        Assertions.assertThat(this.forwarded).hasValue(3);
+    }
+
+    @Test
+    void filter_lagAboveThreshold_sheddableShedFirst() {
+        this.lag(THRESHOLD);
+
+        Assertions.assertThat(this.filter("/api/v1/identity/users")).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertThat(this.filter("/api/v1/profile/users/1")).isNull();
+        Assertions.assertThat(this.filter("/api/v1/identity/auth/token")).isNull();
+        Assertions.assertThat(this.forwarded).hasValue(2);
+        Assertions.assertThat(this.meterRegistry
+                        .get("gateway.load-shedding.rejected")
+                        .tag("priority", RequestPriority.SHEDDABLE.name())
+                        .counter()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void filter_lagTwiceThreshold_defaultShedToo() {
+        this.lag(THRESHOLD.multipliedBy(2));
+
+        Assertions.assertThat(this.filter("/api/v1/identity/users")).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertThat(this.filter("/api/v1/profile/users/1")).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Assertions.assertThat(this.filter("/api/v1/identity/auth/token")).isNull();
+        Assertions.assertThat(this.forwarded).hasValue(1);
+    }
+
+    @Test
+    void filter_anyLag_criticalNeverShed() {
+        this.lag(Duration.ofSeconds(10));
+
+        Assertions.assertThat(this.filter("/api/v1/identity/auth/token")).isNull();
+        Assertions.assertThat(this.forwarded).hasValue(1);
+    }
+
+    private void lag(Duration lag) {
+        Mockito.when(this.eventLoopLagMonitor.lagNanos()).thenReturn(lag.toNanos());
+    }
+
+    private HttpStatus filter(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        this.loadSheddingFilter.filter(exchange, this.chain).block();
+        Assertions.assertThat(exchange.<RequestPriority>getAttribute(LoadSheddingFilter.PRIORITY_ATTRIBUTE))
+                .isNotNull();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private LoadSheddingProperties.Rule rule(String path, RequestPriority priority) {
+        LoadSheddingProperties.Rule rule = new LoadSheddingProperties.Rule();
+        rule.setPath(path);
+        rule.setMethods(List.of(HttpMethod.GET, HttpMethod.POST));
+        rule.setPriority(priority);
+        return rule;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ethnicdev.gateway.concurrency;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+public class RequestPriorityResolverTest {
+
+    @Test
+    void resolve_rules_firstMatchOrDefault() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setRules(List.of(
+                this.rule("/identity/auth/token", List.of(), RequestPriority.CRITICAL),
+                this.rule("/identity/users", List.of(HttpMethod.GET), RequestPriority.SHEDDABLE)));
+        RequestPriorityResolver resolver = new RequestPriorityResolver(properties, "/api/v1");
+
+        Assertions.assertThat(resolver.resolve(HttpMethod.POST, PathContainer.parsePath("/api/v1/identity/auth/token")))
+                .isEqualTo(RequestPriority.CRITICAL);
+        Assertions.assertThat(resolver.resolve(HttpMethod.GET, PathContainer.parsePath("/api/v1/identity/users")))
+                .isEqualTo(RequestPriority.SHEDDABLE);
+        Assertions.assertThat(resolver.resolve(HttpMethod.POST, PathContainer.parsePath("/api/v1/identity/users")))
+                .isEqualTo(RequestPriority.DEFAULT);
+    }
+
+    private LoadSheddingProperties.Rule rule(String path, List<HttpMethod> methods, RequestPriority priority) {
+        LoadSheddingProperties.Rule rule = new LoadSheddingProperties.Rule();
+        rule.setPath(path);
+        rule.setMethods(methods);
+        rule.setPriority(priority);
+        return rule;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ethnicdev.gateway.configuration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class AuthenticationFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void filter_missingToken_countedAsUnauthenticated() {
+        double before = this.count("unauthenticated");
+
+        WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + this.port)
+                .build()
+                .get()
+                .uri("/api/v1/profile/users")
+                .exchange()
+                .expectStatus()
+                .isUnauthorized();
+
+        Assertions.assertThat(this.count("unauthenticated")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void filter_invalidToken_countedAsUnauthenticated() {
+        double before = this.count("unauthenticated");
+
+        WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + this.port)
+                .build()
+                .get()
+                .uri("/api/v1/profile/users")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus()
+                .isUnauthorized();
+
+        Assertions.assertThat(this.count("unauthenticated")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void filter_internalEndpoint_forbidden() {
+        double before = this.count("forbidden");
+
+        WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + this.port)
+                .build()
+                .get()
+                .uri("/api/v1/identity/internal/revocations")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange()
+                .expectStatus()
+                .isForbidden();
+
+        Assertions.assertThat(this.count("forbidden")).isEqualTo(before + 1);
+    }
+
+    private double count(String outcome) {
+        return this.meterRegistry
+                .get("gateway.auth.requests")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ethnicdev.gateway.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.netty.http.client.HttpClient;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            "management.server.port=",
+            "management.endpoints.web.exposure.include=metrics",
+            "server.compression.min-response-size=512B"
+        })
+public class CompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void initClient() {
+        // The default connector decompresses and drops Content-Encoding, use a plain client to see the wire format
+        this.webTestClient = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create()))
+                .baseUrl("http://localhost:" + this.port)
+                .build();
+    }
+
+    @Test
+    void largeJson_acceptsBrotli_brotliEncoded() {
+        this.webTestClient
+                .get()
+                .uri("/actuator/metrics")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals(HttpHeaders.CONTENT_ENCODING, "br");
+    }
+
+    @Test
+    void largeJson_acceptsGzip_gzipEncoded() {
+        this.webTestClient
+                .get()
+                .uri("/actuator/metrics")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    @Test
+    void rejection_smallBody_notEncoded() {
+        this.webTestClient
+                .get()
+                .uri("/api/v1/profile/users")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip")
+                .exchange()
+                .expectStatus()
+                .isUnauthorized()
+                .expectHeader()
+                .doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody()
+                .jsonPath("$.code")
+                .isEqualTo(1401);
+    }
+}
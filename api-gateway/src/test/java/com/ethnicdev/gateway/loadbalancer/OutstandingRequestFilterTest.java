@@ -0,0 +1,68 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.net.URI;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+public class OutstandingRequestFilterTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("a", "identity", "a", 8080, false);
+
+    private final UpstreamStats upstreamStats = new UpstreamStats(new UpstreamHealthProperties());
+
+    private final UpstreamStatsLifecycle lifecycle = new UpstreamStatsLifecycle(this.upstreamStats);
+
+    @Test
+    void filter_clientDisconnects_outstandingReleased() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/identity/users"));
+
+        Disposable call = new OutstandingRequestFilter(this.upstreamStats)
+                .filter(exchange, routed -> {
+                    this.picked(new RequestData(routed.getRequest(), routed.getAttributes()));
+                    return Mono.never();
+                })
+                .subscribe();
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isEqualTo(1);
+
+        call.dispose();
+
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isZero();
+    }
+
+    @Test
+    void exchangeFilterFunction_deadlineCancels_outstandingReleased() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://identity/auth/introspect"))
+                .build();
+
+        Disposable call = new OutstandingRequestExchangeFilterFunction(this.upstreamStats)
+                .filter(request, picked -> {
+                    this.picked(new RequestData(picked));
+                    return Mono.never();
+                })
+                .subscribe();
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isEqualTo(1);
+
+        call.dispose();
+
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isZero();
+    }
+
+    private void picked(RequestData requestData) {
+        this.lifecycle.onStartRequest(
+                new DefaultRequest<>(new RequestDataContext(requestData)), new DefaultResponse(this.instance));
+    }
+}
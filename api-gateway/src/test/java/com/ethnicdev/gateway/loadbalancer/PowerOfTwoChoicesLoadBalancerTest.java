@@ -0,0 +1,91 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import reactor.core.publisher.Mono;
+
+public class PowerOfTwoChoicesLoadBalancerTest {
+
+    private final ServiceInstance busy = new DefaultServiceInstance("busy", "identity", "busy", 8080, false);
+
+    private final ServiceInstance idle = new DefaultServiceInstance("idle", "identity", "idle", 8080, false);
+
+    private UpstreamStats upstreamStats;
+
+    private PowerOfTwoChoicesLoadBalancer loadBalancer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initData() {
+        this.upstreamStats = new UpstreamStats(new UpstreamHealthProperties());
+        ObjectProvider<ServiceInstanceListSupplier> provider = Mockito.mock(ObjectProvider.class);
+        Mockito.when(provider.getIfAvailable(ArgumentMatchers.any()))
+                .thenReturn(ServiceInstanceListSuppliers.from("identity", this.busy, this.idle));
+        this.loadBalancer = new PowerOfTwoChoicesLoadBalancer(provider, this.upstreamStats);
+    }
+
+    @Test
+    void choose_twoInstances_fewerOutstandingChosen() {
+        this.start(this.busy);
+
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertThat(this.choose()).isEqualTo(this.idle);
+        }
+    }
+
+    @Test
+    void choose_ejectedInstance_skipped() {
+        this.start(this.idle);
+        this.eject(this.idle);
+
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertThat(this.choose()).isEqualTo(this.busy);
+        }
+    }
+
+    @Test
+    void choose_allEjected_stillChosen() {
+        this.eject(this.busy);
+        this.eject(this.idle);
+
+        Assertions.assertThat(this.choose()).isIn(this.busy, this.idle);
+    }
+
+    private ServiceInstance choose() {
+        Response<ServiceInstance> response =
+                this.loadBalancer.choose(new DefaultRequest<>()).block();
+        Assertions.assertThat(response.hasServer()).isTrue();
+        return response.getServer();
+    }
+
+    private void start(ServiceInstance instance) {
+        this.upstreamStats
+                .track(outstanding -> {
+                    Map<String, Object> attributes = new HashMap<>();
+                    attributes.put(UpstreamStats.OUTSTANDING_ATTRIBUTE, outstanding);
+                    this.upstreamStats.onStart(attributes, instance);
+                    return Mono.never();
+                })
+                .subscribe();
+    }
+
+    private void eject(ServiceInstance instance) {
+        for (int i = 0; i < new UpstreamHealthProperties().getFailureThreshold(); i++) {
+            this.upstreamStats.onComplete(instance, true);
+        }
+    }
+}
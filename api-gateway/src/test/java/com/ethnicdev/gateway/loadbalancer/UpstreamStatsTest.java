@@ -0,0 +1,73 @@
+package com.ethnicdev.gateway.loadbalancer;
+
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+public class UpstreamStatsTest {
+
+    private final ServiceInstance instance = new DefaultServiceInstance("a", "identity", "a", 8080, false);
+
+    private final UpstreamStats upstreamStats = new UpstreamStats(new UpstreamHealthProperties());
+
+    @Test
+    void onComplete_failureThresholdReached_ejected() {
+        this.upstreamStats.onComplete(this.instance, true);
+        this.upstreamStats.onComplete(this.instance, true);
+        Assertions.assertThat(this.upstreamStats.isEjected(this.instance)).isFalse();
+
+        this.upstreamStats.onComplete(this.instance, true);
+
+        Assertions.assertThat(this.upstreamStats.isEjected(this.instance)).isTrue();
+    }
+
+    @Test
+    void onComplete_successBetweenFailures_notEjected() {
+        this.upstreamStats.onComplete(this.instance, true);
+        this.upstreamStats.onComplete(this.instance, true);
+        this.upstreamStats.onComplete(this.instance, false);
+        this.upstreamStats.onComplete(this.instance, true);
+
+        Assertions.assertThat(this.upstreamStats.isEjected(this.instance)).isFalse();
+    }
+
+    @Test
+    void track_completed_outstandingReleased() {
+        this.upstreamStats.track(this::start).block();
+
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isZero();
+    }
+
+    @Test
+    void track_cancelled_outstandingReleased() {
+        Disposable call = this.upstreamStats
+                .track(outstanding -> this.start(outstanding).then(Mono.never()))
+                .subscribe();
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isEqualTo(1);
+
+        call.dispose();
+
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isZero();
+    }
+
+    @Test
+    void onStart_afterRelease_notCounted() {
+        this.upstreamStats
+                .track(outstanding ->
+                        Mono.fromRunnable(() -> outstanding.release()).then(this.start(outstanding)))
+                .block();
+
+        Assertions.assertThat(this.upstreamStats.outstanding(this.instance)).isZero();
+    }
+
+    private Mono<Void> start(UpstreamStats.Outstanding outstanding) {
+        return Mono.fromRunnable(() ->
+                this.upstreamStats.onStart(Map.of(UpstreamStats.OUTSTANDING_ATTRIBUTE, outstanding), this.instance));
+    }
+}
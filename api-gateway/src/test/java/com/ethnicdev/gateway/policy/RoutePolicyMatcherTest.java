@@ -0,0 +1,90 @@
+package com.ethnicdev.gateway.policy;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RoutePolicyMatcherTest {
+
+    private RoutePolicyMatcher routePolicyMatcher;
+
+    @BeforeEach
+    void initData() {
+        RoutePolicyProperties properties = new RoutePolicyProperties();
+        properties.setRoutes(List.of(
+                route("/identity/auth/**", AccessPolicy.PUBLIC, List.of()),
+                route("/identity/users/registration", AccessPolicy.PUBLIC, List.of()),
+                route("/identity/users/*", AccessPolicy.SCOPES, List.of("ROLE_ADMIN")),
+                route("/identity/users/myInfo", AccessPolicy.AUTHENTICATED, List.of()),
+                route("/identity/internal/**", AccessPolicy.DENY, List.of())));
+        this.routePolicyMatcher = new RoutePolicyMatcher(properties, "/api/v1");
+    }
+
+    @Test
+    void match_publicEndpoints_public() {
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/auth/token")
+                        .isPublic())
+                .isTrue();
+        Assertions.assertThat(
+                        this.routePolicyMatcher.match("/api/v1/identity/auth").isPublic())
+                .isTrue();
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/users/registration")
+                        .isPublic())
+                .isTrue();
+    }
+
+    @Test
+    void match_literalBeforeWildcard_mostSpecificWins() {
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/users/myInfo")
+                        .getAccessPolicy())
+                .isEqualTo(AccessPolicy.AUTHENTICATED);
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/users/123")
+                        .getAccessPolicy())
+                .isEqualTo(AccessPolicy.SCOPES);
+    }
+
+    @Test
+    void match_internalEndpoints_denied() {
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/internal/revocations")
+                        .isDenied())
+                .isTrue();
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/users/myInfo")
+                        .isDenied())
+                .isFalse();
+    }
+
+    @Test
+    void match_unknownOrRelativePath_defaultPolicy() {
+        Assertions.assertThat(
+                        this.routePolicyMatcher.match("/api/v1/profile/users").getAccessPolicy())
+                .isEqualTo(AccessPolicy.AUTHENTICATED);
+        Assertions.assertThat(this.routePolicyMatcher
+                        .match("/api/v1/identity/auth/../users")
+                        .getAccessPolicy())
+                .isEqualTo(AccessPolicy.AUTHENTICATED);
+    }
+
+    @Test
+    void isGranted_scopeClaim_matchesWholeScope() {
+        RoutePolicy policy = this.routePolicyMatcher.match("/api/v1/identity/users/123");
+        Assertions.assertThat(policy.isGranted("ROLE_USER ROLE_ADMIN")).isTrue();
+        Assertions.assertThat(policy.isGranted("ROLE_ADMINISTRATOR")).isFalse();
+        Assertions.assertThat(policy.isGranted(null)).isFalse();
+    }
+
+    private static RoutePolicyProperties.Route route(String path, AccessPolicy policy, List<String> scopes) {
+        RoutePolicyProperties.Route route = new RoutePolicyProperties.Route();
+        route.setPath(path);
+        route.setPolicy(policy);
+        route.setScopes(scopes);
+        return route;
+    }
+}
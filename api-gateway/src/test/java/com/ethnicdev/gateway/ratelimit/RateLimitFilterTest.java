@@ -0,0 +1,177 @@
+package com.ethnicdev.gateway.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Objects;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.gateway.configuration.AuthenticationFilter;
+import com.ethnicdev.gateway.configuration.ErrorResponseWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import reactor.core.publisher.Mono;
+
+public class RateLimitFilterTest {
+
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private static final String PROXY = "10.0.0.1";
+
+    @Test
+    void filter_ipKey_limitedPerSocketAddress() {
+        RateLimitFilter filter = this.filter(0, Map.of("auth", limit(1, RateLimitProperties.KeyType.IP)));
+
+        Assertions.assertThat(this.filter(filter, "auth", "1.1.1.1", null, null))
+                .isNull();
+        Assertions.assertThat(this.filter(filter, "auth", "2.2.2.2", null, null))
+                .isNull();
+        // Without trusted proxies a forged X-Forwarded-For does not get a new bucket
+        Assertions.assertThat(this.filter(filter, "auth", "1.1.1.1", "3.3.3.3", null))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void filter_ipKeyBehindTrustedProxy_limitedPerForwardedClient() {
+        RateLimitFilter filter = this.filter(1, Map.of("auth", limit(1, RateLimitProperties.KeyType.IP)));
+
+        Assertions.assertThat(this.filter(filter, "auth", PROXY, "1.1.1.1", null))
+                .isNull();
+        Assertions.assertThat(this.filter(filter, "auth", PROXY, "2.2.2.2", null))
+                .isNull();
+        // Only the entry appended by the trusted proxy counts, the client controls the ones before it
+        Assertions.assertThat(this.filter(filter, "auth", PROXY, "9.9.9.9, 1.1.1.1", null))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void filter_userKey_limitedPerSubject() {
+        RateLimitFilter filter = this.filter(0, Map.of("users", limit(1, RateLimitProperties.KeyType.USER)));
+
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, "john")).isNull();
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, "jane")).isNull();
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, "john"))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        // Anonymous requests fall back to the client address
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, null)).isNull();
+    }
+
+    @Test
+    void filter_routeKey_sharedByEveryClient() {
+        RateLimitFilter filter = this.filter(0, Map.of("listing", limit(1, RateLimitProperties.KeyType.ROUTE)));
+
+        Assertions.assertThat(this.filter(filter, "listing", "1.1.1.1", null, "john"))
+                .isNull();
+        Assertions.assertThat(this.filter(filter, "listing", "2.2.2.2", null, "jane"))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void filter_perRouteLimits_ownCapacityOrUnlimited() {
+        RateLimitFilter filter = this.filter(
+                0,
+                Map.of(
+                        "auth", limit(1, RateLimitProperties.KeyType.IP),
+                        "users", limit(2, RateLimitProperties.KeyType.IP)));
+
+        Assertions.assertThat(this.filter(filter, "auth", PROXY, null, null)).isNull();
+        Assertions.assertThat(this.filter(filter, "auth", PROXY, null, null)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, null)).isNull();
+        Assertions.assertThat(this.filter(filter, "users", PROXY, null, null)).isNull();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(this.filter(filter, "other", PROXY, null, null))
+                    .isNull();
+        }
+    }
+
+    @Test
+    void filter_allowed_rateLimitHeaders() {
+        RateLimitFilter filter = this.filter(0, Map.of("auth", limit(3, RateLimitProperties.KeyType.IP)));
+        MockServerWebExchange exchange = this.exchange("auth", PROXY, null, null);
+
+        filter.filter(exchange, CHAIN).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.LIMIT_HEADER)).isEqualTo("3");
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.REMAINING_HEADER))
+                .isEqualTo("2");
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.RESET_HEADER)).isEqualTo("1");
+        Assertions.assertThat(headers.containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+
+    @Test
+    void filter_exhausted_tooManyRequestsWithHeaders() {
+        RateLimitFilter filter = this.filter(0, Map.of("auth", limit(1, RateLimitProperties.KeyType.IP)));
+        this.filter(filter, "auth", PROXY, null, null);
+        MockServerWebExchange exchange = this.exchange("auth", PROXY, null, null);
+
+        filter.filter(exchange, CHAIN).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        Assertions.assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.LIMIT_HEADER)).isEqualTo("1");
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.REMAINING_HEADER))
+                .isEqualTo("0");
+        Assertions.assertThat(headers.getFirst(RateLimitFilter.RESET_HEADER)).isEqualTo("1");
+        Assertions.assertThat(headers.getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(exchange.getResponse().getBodyAsString().block()).contains("1429");
+    }
+
+    private RateLimitFilter filter(int trustedProxies, Map<String, RateLimitProperties.Limit> routes) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(trustedProxies);
+        properties.setRoutes(routes);
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(new ObjectMapper());
+        ReflectionTestUtils.invokeMethod(errorResponseWriter, "init");
+        return new RateLimitFilter(properties, errorResponseWriter);
+    }
+
+    private HttpStatus filter(
+            RateLimitFilter filter, String routeId, String remoteAddress, String forwardedFor, String subject) {
+        MockServerWebExchange exchange = this.exchange(routeId, remoteAddress, forwardedFor, subject);
+        filter.filter(exchange, CHAIN).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private MockServerWebExchange exchange(String routeId, String remoteAddress, String forwardedFor, String subject) {
+        MockServerHttpRequest.BaseBuilder<?> request =
+                MockServerHttpRequest.get("/").remoteAddress(new InetSocketAddress(remoteAddress, 40000));
+        if (Objects.nonNull(forwardedFor)) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes()
+                .put(
+                        ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                        Route.async()
+                                .id(routeId)
+                                .uri("http://localhost")
+                                .predicate(ignored -> true)
+                                .build());
+        if (Objects.nonNull(subject)) {
+            exchange.getAttributes()
+                    .put(
+                            AuthenticationFilter.CLAIMS_ATTRIBUTE,
+                            new JWTClaimsSet.Builder().subject(subject).build());
+        }
+        return exchange;
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, RateLimitProperties.KeyType key) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setReplenishRate(1);
+        limit.setKey(key);
+        return limit;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ethnicdev.gateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    @Test
+    void tryAcquire_burstThenEmpty_rejected() {
+        TokenBucket tokenBucket = new TokenBucket(3, 1);
+        long now = TimeUnit.SECONDS.toNanos(100);
+
+        Assertions.assertThat(tokenBucket.tryAcquire(now)).isEqualTo(2);
+        Assertions.assertThat(tokenBucket.tryAcquire(now)).isEqualTo(1);
+        Assertions.assertThat(tokenBucket.tryAcquire(now)).isEqualTo(0);
+        Assertions.assertThat(tokenBucket.tryAcquire(now)).isNegative();
+    }
+
+    @Test
+    void tryAcquire_afterReplenish_allowed() {
+        TokenBucket tokenBucket = new TokenBucket(1, 2);
+        long now = TimeUnit.SECONDS.toNanos(100);
+
+        Assertions.assertThat(tokenBucket.tryAcquire(now)).isEqualTo(0);
+        long waitNanos = -tokenBucket.tryAcquire(now);
+        Assertions.assertThat(waitNanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        Assertions.assertThat(tokenBucket.tryAcquire(now + waitNanos)).isEqualTo(0);
+    }
+
+    @Test
+    void nanosUntilFull_tokensTaken_timeToReplenishThem() {
+        TokenBucket tokenBucket = new TokenBucket(3, 1);
+        long now = TimeUnit.SECONDS.toNanos(100);
+        Assertions.assertThat(tokenBucket.nanosUntilFull(now)).isZero();
+
+        tokenBucket.tryAcquire(now);
+        tokenBucket.tryAcquire(now);
+
+        Assertions.assertThat(tokenBucket.nanosUntilFull(now)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+        Assertions.assertThat(tokenBucket.nanosUntilFull(now + TimeUnit.SECONDS.toNanos(5)))
+                .isZero();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ethnicdev.gateway.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.IntrospectResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "app.auth.introspection.batch.enabled=false")
+public class IdentityServiceTest {
+
+    @Autowired
+    private IdentityService identityService;
+
+    @MockBean
+    private IdentityClient identityClient;
+
+    @Test
+    void introspect_concurrentSameToken_singleCall() {
+        when(this.identityClient.introspect(any()))
+                .thenReturn(Mono.just(ApiResponse.<IntrospectResponse>builder()
+                                .result(IntrospectResponse.builder()
+                                        .valid(false)
+                                        .build())
+                                .build())
+                        .delayElement(Duration.ofMillis(100)));
+
+        var first = this.identityService.introspect("concurrent-token");
+        var second = this.identityService.introspect("concurrent-token");
+        var results = Mono.zip(first, second).block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(results.getT1().isValid()).isFalse();
+        Assertions.assertThat(results.getT2().isValid()).isFalse();
+        verify(this.identityClient, times(1)).introspect(any());
+    }
+
+    @Test
+    void introspect_invalidTokenAgain_servedFromCache() {
+        when(this.identityClient.introspect(any()))
+                .thenReturn(Mono.just(ApiResponse.<IntrospectResponse>builder()
+                        .result(IntrospectResponse.builder().valid(false).build())
+                        .build()));
+
+        this.identityService.introspect("cached-token").block(Duration.ofSeconds(5));
+        this.identityService.introspect("cached-token").block(Duration.ofSeconds(5));
+
+        verify(this.identityClient, times(1)).introspect(any());
+    }
+}
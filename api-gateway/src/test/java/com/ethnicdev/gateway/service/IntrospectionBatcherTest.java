@@ -0,0 +1,66 @@
+package com.ethnicdev.gateway.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.ethnicdev.gateway.dto.request.BatchIntrospectRequest;
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.IntrospectResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "app.auth.introspection.batch.max-wait=200ms")
+public class IntrospectionBatcherTest {
+
+    @Autowired
+    private IntrospectionBatcher introspectionBatcher;
+
+    @MockBean
+    private IdentityClient identityClient;
+
+    @Test
+    void introspect_concurrentTokens_sentInOneBatch() {
+        when(this.identityClient.introspectBatch(any())).thenAnswer(invocation -> {
+            BatchIntrospectRequest request = invocation.getArgument(0);
+            List<IntrospectResponse> results = request.getTokens().stream()
+                    .map(token -> IntrospectResponse.builder()
+                            .valid(token.startsWith("valid"))
+                            .build())
+                    .toList();
+            return Mono.just(ApiResponse.<List<IntrospectResponse>>builder()
+                    .result(results)
+                    .build());
+        });
+
+        var results = Mono.zip(
+                        this.introspectionBatcher.introspect("valid-token"),
+                        this.introspectionBatcher.introspect("invalid-token"))
+                .block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(results.getT1().isValid()).isTrue();
+        Assertions.assertThat(results.getT2().isValid()).isFalse();
+        verify(this.identityClient, times(1)).introspectBatch(any());
+    }
+
+    @Test
+    void introspect_emptyBatchResponse_invalid() {
+        when(this.identityClient.introspectBatch(any())).thenReturn(Mono.empty());
+
+        IntrospectResponse response =
+                this.introspectionBatcher.introspect("valid-token").block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(response.isValid()).isFalse();
+    }
+}
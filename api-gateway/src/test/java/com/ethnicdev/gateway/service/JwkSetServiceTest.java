@@ -0,0 +1,118 @@
+package com.ethnicdev.gateway.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.gateway.repository.IdentityClient;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Mono;
+
+public class JwkSetServiceTest {
+
+    private IdentityClient identityClient;
+
+    private JwkSetService jwkSetService;
+
+    private ECKey first;
+
+    private ECKey second;
+
+    @BeforeEach
+    void initData() throws Exception {
+        this.identityClient = Mockito.mock(IdentityClient.class);
+        IdentityCallPolicy identityCallPolicy = Mockito.mock(IdentityCallPolicy.class);
+        Mockito.when(identityCallPolicy.withDeadline(anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        this.jwkSetService = new JwkSetService(this.identityClient, identityCallPolicy);
+        this.first = new ECKeyGenerator(Curve.P_256).keyID("k1").generate();
+        this.second = new ECKeyGenerator(Curve.P_256).keyID("k2").generate();
+        this.publish(this.first);
+        this.jwkSetService.refresh();
+    }
+
+    @Test
+    void getVerifier_knownKeyId_verifiesWithoutFetch() throws Exception {
+        JWSVerifier verifier = this.jwkSetService.getVerifier("k1").block();
+
+        Assertions.assertThat(verifier).isNotNull();
+        Assertions.assertThat(signed(this.first).verify(verifier)).isTrue();
+        Mockito.verify(this.identityClient, Mockito.times(1)).getJwkSet();
+    }
+
+    @Test
+    void getVerifier_unknownKeyId_earlyRefresh() throws Exception {
+        this.publish(this.first, this.second);
+        this.refreshedAgo(JwkSetService.MIN_REFRESH_INTERVAL);
+
+        JWSVerifier verifier = this.jwkSetService.getVerifier("k2").block();
+
+        Assertions.assertThat(verifier).isNotNull();
+        Assertions.assertThat(signed(this.second).verify(verifier)).isTrue();
+        Mockito.verify(this.identityClient, Mockito.times(2)).getJwkSet();
+    }
+
+    @Test
+    void getVerifier_secondUnknownKeyIdWithinInterval_emptyWithoutFetch() {
+        this.publish(this.first, this.second);
+        this.refreshedAgo(JwkSetService.MIN_REFRESH_INTERVAL);
+        this.jwkSetService.getVerifier("k3").block();
+
+        Assertions.assertThat(this.jwkSetService.getVerifier("k4").blockOptional())
+                .isEmpty();
+        Assertions.assertThat(this.jwkSetService.getVerifier("k2").blockOptional())
+                .isPresent();
+        Mockito.verify(this.identityClient, Mockito.times(2)).getJwkSet();
+    }
+
+    @Test
+    void refresh_fetchFails_previousKeysKept() {
+        Mockito.when(this.identityClient.getJwkSet()).thenReturn(Mono.error(new IllegalStateException("down")));
+        this.jwkSetService.refresh();
+        Mockito.when(this.identityClient.getJwkSet()).thenReturn(Mono.just("not a jwk set"));
+        this.jwkSetService.refresh();
+
+        Assertions.assertThat(this.jwkSetService.getVerifier("k1").blockOptional())
+                .isPresent();
+    }
+
+    private void publish(ECKey... keys) {
+        List<JWK> publicKeys = List.of(keys).stream()
+                .map(ECKey::toPublicJWK)
+                .map(JWK.class::cast)
+                .toList();
+        Mockito.when(this.identityClient.getJwkSet()).thenReturn(Mono.just(new JWKSet(publicKeys).toString()));
+    }
+
+    private void refreshedAgo(long millis) {
+        AtomicLong refreshedAt = (AtomicLong) ReflectionTestUtils.getField(this.jwkSetService, "refreshedAt");
+        refreshedAt.set(System.currentTimeMillis() - millis);
+    }
+
+    private static SignedJWT signed(ECKey key) throws Exception {
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.ES256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder().subject("john").build());
+        signedJWT.sign(new ECDSASigner(key));
+        return signedJWT;
+    }
+}
@@ -0,0 +1,80 @@
+package com.ethnicdev.gateway.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.MeResponse;
+import com.ethnicdev.gateway.dto.response.UserProfileResponse;
+import com.ethnicdev.gateway.dto.response.UserResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+import com.ethnicdev.gateway.repository.ProfileClient;
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = {"app.bff.identity-timeout=200ms", "app.bff.profile-timeout=200ms"})
+public class MeServiceTest {
+
+    @Autowired
+    private MeService meService;
+
+    @MockBean
+    private IdentityClient identityClient;
+
+    @MockBean
+    private ProfileClient profileClient;
+
+    private final JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .subject("john")
+            .claim("userId", "user-1")
+            .claim("scope", "ROLE_USER")
+            .expirationTime(new Date(System.currentTimeMillis() + 60_000))
+            .build();
+
+    @Test
+    void getMe_bothLegs_success() {
+        when(this.identityClient.getMyInfo(any()))
+                .thenReturn(Mono.just(ApiResponse.<UserResponse>builder()
+                                .result(UserResponse.builder().id("user-1").build())
+                                .build())
+                        .delayElement(Duration.ofMillis(100)));
+        when(this.profileClient.getMyProfile(any()))
+                .thenReturn(
+                        Mono.just(UserProfileResponse.builder().id("profile-1").build())
+                                .delayElement(Duration.ofMillis(100)));
+
+        MeResponse me = this.meService.getMe(this.claims).block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(me.getUser().getId()).isEqualTo("user-1");
+        Assertions.assertThat(me.getProfile().getId()).isEqualTo("profile-1");
+        Assertions.assertThat(me.getUnavailable()).isEmpty();
+    }
+
+    @Test
+    void getMe_profileTooSlow_partialResult() {
+        when(this.identityClient.getMyInfo(any()))
+                .thenReturn(Mono.just(ApiResponse.<UserResponse>builder()
+                        .result(UserResponse.builder().id("user-1").build())
+                        .build()));
+        when(this.profileClient.getMyProfile(any()))
+                .thenReturn(
+                        Mono.just(UserProfileResponse.builder().id("profile-1").build())
+                                .delayElement(Duration.ofSeconds(2)));
+
+        MeResponse me = this.meService.getMe(this.claims).block(Duration.ofSeconds(5));
+
+        Assertions.assertThat(me.getUser().getId()).isEqualTo("user-1");
+        Assertions.assertThat(me.getProfile()).isNull();
+        Assertions.assertThat(me.getUnavailable()).containsExactly("profile");
+    }
+}
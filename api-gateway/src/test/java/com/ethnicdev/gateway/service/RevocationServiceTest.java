@@ -0,0 +1,80 @@
+package com.ethnicdev.gateway.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.gateway.dto.response.ApiResponse;
+import com.ethnicdev.gateway.dto.response.RevocationResponse;
+import com.ethnicdev.gateway.dto.response.RevokedTokenResponse;
+import com.ethnicdev.gateway.repository.IdentityClient;
+
+import reactor.core.publisher.Mono;
+
+public class RevocationServiceTest {
+
+    private IdentityClient identityClient;
+
+    private RevocationService revocationService;
+
+    @BeforeEach
+    void initData() {
+        this.identityClient = Mockito.mock(IdentityClient.class);
+        IdentityCallPolicy identityCallPolicy = Mockito.mock(IdentityCallPolicy.class);
+        Mockito.when(identityCallPolicy.withDeadline(anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        this.revocationService = new RevocationService(
+                this.identityClient,
+                identityCallPolicy,
+                new IdentityEnvelopeSigner("Ha9eknsqrwK+i3SfQIaGta/qRs/2BpRZ8ZzqpgRii0E=", "api-gateway"));
+    }
+
+    @Test
+    void sync_revokedToken_revoked() {
+        Mockito.when(this.identityClient.getRevocations(any(), any())).thenReturn(Mono.just(revocations("jti-1")));
+
+        this.revocationService.sync();
+
+        Assertions.assertThat(this.revocationService.isRevoked("jti-1")).isTrue();
+        Mockito.verify(this.identityClient)
+                .getRevocations(ArgumentMatchers.startsWith("s1."), ArgumentMatchers.isNull());
+    }
+
+    @Test
+    void sync_emptyResult_expiredTokensStillSwept() {
+        revokedTokens(this.revocationService).put("jti-expired", System.currentTimeMillis() - 1000);
+        Mockito.when(this.identityClient.getRevocations(any(), any()))
+                .thenReturn(Mono.just(ApiResponse.<RevocationResponse>builder().build()));
+
+        this.revocationService.sync();
+
+        Assertions.assertThat(this.revocationService.isRevoked("jti-expired")).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> revokedTokens(RevocationService revocationService) {
+        return (Map<String, Long>) ReflectionTestUtils.getField(revocationService, "revokedTokens");
+    }
+
+    private static ApiResponse<RevocationResponse> revocations(String jti) {
+        return ApiResponse.<RevocationResponse>builder()
+                .result(RevocationResponse.builder()
+                        .cursor(1L)
+                        .tokens(List.of(RevokedTokenResponse.builder()
+                                .id(jti)
+                                .expiryTime(new Date(System.currentTimeMillis() + 60000))
+                                .build()))
+                        .build())
+                .build();
+    }
+}
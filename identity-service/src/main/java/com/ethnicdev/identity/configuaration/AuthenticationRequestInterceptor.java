@@ -2,6 +2,8 @@ package com.ethnicdev.identity.configuaration;
 
 import java.util.Optional;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -17,13 +19,22 @@ public class AuthenticationRequestInterceptor implements RequestInterceptor {
 
     @Override
     public void apply(RequestTemplate requestTemplate) {
-        String authHeader = Optional.ofNullable((ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
-                .map(servletRequestAttributes ->
-                        servletRequestAttributes.getRequest().getHeader("Authorization"))
+        HttpServletRequest request = Optional.ofNullable(
+                        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes())
+                .map(ServletRequestAttributes::getRequest)
                 .orElse(null);
+        if (request == null) {
+            return;
+        }
+        String authHeader = request.getHeader("Authorization");
         log.info("Header: {}", authHeader);
         if (StringUtils.hasText(authHeader)) {
             requestTemplate.header("Authorization", authHeader);
         }
+        // Let the next service skip the JWT parse as well
+        String envelope = request.getHeader(IdentityEnvelopeBearerTokenResolver.HEADER);
+        if (StringUtils.hasText(envelope)) {
+            requestTemplate.header(IdentityEnvelopeBearerTokenResolver.HEADER, envelope);
+        }
     }
 }
@@ -1,20 +1,26 @@
 package com.ethnicdev.identity.configuaration;
 
 import java.text.ParseException;
+import java.util.Date;
+import java.util.Objects;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 
+import com.ethnicdev.identity.service.SigningKeyService;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
+import lombok.RequiredArgsConstructor;
+
 @Component
+@RequiredArgsConstructor
 public class CustomJwtDecoder implements JwtDecoder {
 
-    @Value("${jwt.signerKey}")
-    private String signerKey;
+    private final SigningKeyService signingKeyService;
 
     @Override
     public Jwt decode(String token) throws JwtException {
@@ -22,13 +28,21 @@ public class CustomJwtDecoder implements JwtDecoder {
         SignedJWT signedJWT;
         try {
             signedJWT = SignedJWT.parse(token);
+            if (!this.signingKeyService.verify(signedJWT)) {
+                throw new JwtException("Invalid token");
+            }
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date expiryTime = claims.getExpirationTime();
+            if (Objects.isNull(expiryTime) || !expiryTime.after(new Date())) {
+                throw new JwtException("Token expired");
+            }
             return new Jwt(
                     token,
-                    signedJWT.getJWTClaimsSet().getIssueTime().toInstant(),
-                    signedJWT.getJWTClaimsSet().getExpirationTime().toInstant(),
+                    claims.getIssueTime().toInstant(),
+                    expiryTime.toInstant(),
                     signedJWT.getHeader().toJSONObject(),
-                    signedJWT.getJWTClaimsSet().getClaims());
-        } catch (ParseException e) {
+                    claims.getClaims());
+        } catch (ParseException | JOSEException e) {
             throw new JwtException("Invalid token");
         }
     }
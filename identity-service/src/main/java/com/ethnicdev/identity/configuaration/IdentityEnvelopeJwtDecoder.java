@@ -0,0 +1,108 @@
+package com.ethnicdev.identity.configuaration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accepts the identity envelope signed by the api-gateway ({@code v1.<subject>.<userId>.<scope>.<exp>.<hmac>}), which
+ * costs one HMAC instead of a JWT parse, and the service envelope a service authenticates itself with on internal
+ * endpoints ({@code s1.<service>.<exp>.<hmac>}). Anything else is handed to {@link CustomJwtDecoder}.
+ */
+@Component
+public class IdentityEnvelopeJwtDecoder implements JwtDecoder {
+
+    public static final String SERVICE_TYPE = "service-envelope";
+
+    private static final String PREFIX = "v1.";
+
+    private static final String SERVICE_PREFIX = "s1.";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Map<String, Object> HEADERS = Map.of("alg", "HS256", "typ", "identity-envelope");
+
+    private static final Map<String, Object> SERVICE_HEADERS = Map.of("alg", "HS256", "typ", SERVICE_TYPE);
+
+    private final CustomJwtDecoder customJwtDecoder;
+
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityEnvelopeJwtDecoder(
+            CustomJwtDecoder customJwtDecoder, @Value("${app.identity-envelope.secret}") String secret) {
+        this.customJwtDecoder = customJwtDecoder;
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(secret), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        boolean service = token.startsWith(SERVICE_PREFIX);
+        if (!service && !token.startsWith(PREFIX)) {
+            return this.customJwtDecoder.decode(token);
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < PREFIX.length()) {
+            throw new JwtException("Invalid identity envelope");
+        }
+        // Both prefixes have the same length
+        String[] parts = token.substring(PREFIX.length(), signatureStart).split("\\.", -1);
+        if (parts.length != (service ? 2 : 4)) {
+            throw new JwtException("Invalid identity envelope");
+        }
+        try {
+            byte[] expected =
+                    this.mac.get().doFinal(token.substring(0, signatureStart).getBytes(StandardCharsets.US_ASCII));
+            byte[] actual = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new JwtException("Invalid identity envelope");
+            }
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[parts.length - 1]));
+            if (!expiresAt.isAfter(Instant.now())) {
+                throw new JwtException("Identity envelope expired");
+            }
+            if (service) {
+                return Jwt.withTokenValue(token)
+                        .headers(headers -> headers.putAll(SERVICE_HEADERS))
+                        .subject(base64Decode(parts[0]))
+                        .expiresAt(expiresAt)
+                        .build();
+            }
+            Jwt.Builder jwt = Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(HEADERS))
+                    .subject(base64Decode(parts[0]))
+                    .claim("scope", base64Decode(parts[2]))
+                    .expiresAt(expiresAt);
+            String userId = base64Decode(parts[1]);
+            if (!userId.isEmpty()) {
+                jwt.claim("userId", userId);
+            }
+            return jwt.build();
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Invalid identity envelope");
+        }
+    }
+
+    private static String base64Decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
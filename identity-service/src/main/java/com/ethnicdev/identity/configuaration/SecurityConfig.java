@@ -1,18 +1,29 @@
 package com.ethnicdev.identity.configuaration;
 
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 
 @Configuration
 @EnableWebSecurity
@@ -20,29 +31,70 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Autowired
-    private CustomJwtDecoder customJwtDecoder;
+    private IdentityEnvelopeJwtDecoder identityEnvelopeJwtDecoder;
+
+    @Autowired
+    private IdentityEnvelopeBearerTokenResolver identityEnvelopeBearerTokenResolver;
 
     private final String[] PUBLIC_ENDPOINTS = {
-        "/users/registration", "/auth/token", "/auth/introspect", "/auth/logout", "/auth/refresh",
+        "/users/registration",
+        "/auth/token",
+        "/auth/introspect",
+        "/auth/introspect/batch",
+        "/auth/logout",
+        "/auth/refresh",
     };
 
+    private final String[] INTERNAL_ENDPOINTS = {"/internal/revocations"};
+
+    private final String[] KEY_ENDPOINTS = {"/.well-known/jwks.json"};
+
     @Bean
     SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
         httpSecurity.authorizeHttpRequests(request -> request.requestMatchers(HttpMethod.POST, PUBLIC_ENDPOINTS)
+                .permitAll()
+                .requestMatchers(HttpMethod.GET, INTERNAL_ENDPOINTS)
+                .access(SecurityConfig::isService)
+                .requestMatchers(HttpMethod.GET, KEY_ENDPOINTS)
                 .permitAll()
                 .anyRequest()
                 .authenticated());
-        httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwtConfigurer -> jwtConfigurer
-                        .decoder(this.customJwtDecoder)
+        httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.bearerTokenResolver(this.identityEnvelopeBearerTokenResolver)
+                .jwt(jwtConfigurer -> jwtConfigurer
+                        .decoder(this.identityEnvelopeJwtDecoder)
                         .jwtAuthenticationConverter(this.jwtAuthenticationConverter()))
                 .authenticationEntryPoint(new JwtAuthenticationEntryPoint()));
         httpSecurity.csrf(AbstractHttpConfigurer::disable);
         return httpSecurity.build();
     }
 
+    /**
+     * Internal endpoints only accept a service envelope, which users never get, whatever scopes their token has.
+     */
+    private static AuthorizationDecision isService(
+            Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(authentication.get() instanceof JwtAuthenticationToken token
+                && IdentityEnvelopeJwtDecoder.SERVICE_TYPE.equals(
+                        token.getToken().getHeaders().get("typ")));
+    }
+
+    @Value("${app.password-hashing.algorithm}")
+    private String passwordHashingAlgorithm;
+
+    @Value("${app.password-hashing.bcrypt-strength}")
+    private int bcryptStrength;
+
     @Bean
     PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+        Map<String, PasswordEncoder> passwordEncoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(this.bcryptStrength),
+                "argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8(),
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder passwordEncoder =
+                new DelegatingPasswordEncoder(this.passwordHashingAlgorithm, passwordEncoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        passwordEncoder.setDefaultPasswordEncoderForMatches(passwordEncoders.get("bcrypt"));
+        return passwordEncoder;
     }
 
     @Bean
@@ -1,6 +1,8 @@
 package com.ethnicdev.identity.controller;
 
-import java.text.ParseException;
+import java.util.List;
+
+import jakarta.validation.Valid;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ethnicdev.identity.dto.request.AuthenticationRequest;
+import com.ethnicdev.identity.dto.request.BatchIntrospectRequest;
 import com.ethnicdev.identity.dto.request.IntrospectRequest;
 import com.ethnicdev.identity.dto.request.LogoutRequest;
 import com.ethnicdev.identity.dto.request.RefreshRequest;
@@ -15,7 +18,6 @@ import com.ethnicdev.identity.dto.response.ApiResponse;
 import com.ethnicdev.identity.dto.response.AuthenticationResponse;
 import com.ethnicdev.identity.dto.response.IntrospectResponse;
 import com.ethnicdev.identity.service.AuthenticationService;
-import com.nimbusds.jose.JOSEException;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -37,22 +39,27 @@ public class AuthenticationController {
     }
 
     @PostMapping("/introspect")
-    ApiResponse<IntrospectResponse> introspect(@RequestBody IntrospectRequest request)
-            throws JOSEException, ParseException {
+    ApiResponse<IntrospectResponse> introspect(@RequestBody IntrospectRequest request) {
         return ApiResponse.<IntrospectResponse>builder()
                 .result(this.authenticationService.introspect(request))
                 .build();
     }
 
+    @PostMapping("/introspect/batch")
+    ApiResponse<List<IntrospectResponse>> introspectBatch(@RequestBody @Valid BatchIntrospectRequest request) {
+        return ApiResponse.<List<IntrospectResponse>>builder()
+                .result(this.authenticationService.introspectBatch(request))
+                .build();
+    }
+
     @PostMapping("/logout")
-    ApiResponse<Void> logout(@RequestBody LogoutRequest request) throws JOSEException, ParseException {
+    ApiResponse<Void> logout(@RequestBody LogoutRequest request) {
         this.authenticationService.logout(request);
         return ApiResponse.<Void>builder().build();
     }
 
     @PostMapping("/refresh")
-    ApiResponse<AuthenticationResponse> refresh(@RequestBody RefreshRequest request)
-            throws JOSEException, ParseException {
+    ApiResponse<AuthenticationResponse> refresh(@RequestBody RefreshRequest request) {
         return ApiResponse.<AuthenticationResponse>builder()
                 .result(this.authenticationService.refreshToken(request))
                 .build();
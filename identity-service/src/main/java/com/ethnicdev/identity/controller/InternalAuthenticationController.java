@@ -0,0 +1,34 @@
+package com.ethnicdev.identity.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ethnicdev.identity.dto.response.ApiResponse;
+import com.ethnicdev.identity.dto.response.RevocationResponse;
+import com.ethnicdev.identity.service.AuthenticationService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InternalAuthenticationController {
+
+    AuthenticationService authenticationService;
+
+    /**
+     * Revocation feed for services that verify tokens locally.
+     *
+     * @param since Cursor returned by the previous call, omit for a full snapshot
+     * @return Revoked tokens which are not expired yet
+     */
+    @GetMapping("/internal/revocations")
+    ApiResponse<RevocationResponse> getRevocations(@RequestParam(required = false) Long since) {
+        return ApiResponse.<RevocationResponse>builder()
+                .result(this.authenticationService.getRevocations(since))
+                .build();
+    }
+}
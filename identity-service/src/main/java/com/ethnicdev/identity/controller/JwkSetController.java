@@ -0,0 +1,28 @@
+package com.ethnicdev.identity.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ethnicdev.identity.service.SigningKeyService;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JwkSetController {
+
+    SigningKeyService signingKeyService;
+
+    /**
+     * Public keys verifying the access tokens. Plain JWK Set rather than ApiResponse, so any JOSE library can read it.
+     */
+    @GetMapping("/.well-known/jwks.json")
+    Map<String, Object> getJwkSet() {
+        return this.signingKeyService.getJwkSet();
+    }
+}
@@ -1,17 +1,17 @@
 package com.ethnicdev.identity.controller;
 
-import java.util.List;
-
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ethnicdev.identity.dto.request.PermissionRequest;
 import com.ethnicdev.identity.dto.response.ApiResponse;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.PermissionResponse;
 import com.ethnicdev.identity.service.PermissionService;
 
@@ -35,9 +35,10 @@ public class PermissionController {
     }
 
     @GetMapping
-    public ApiResponse<List<PermissionResponse>> getAll() {
-        return ApiResponse.<List<PermissionResponse>>builder()
-                .result(this.permissionService.getAll())
+    public ApiResponse<PageResponse<PermissionResponse>> getAll(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ApiResponse.<PageResponse<PermissionResponse>>builder()
+                .result(this.permissionService.getAll(cursor, size))
                 .build();
     }
 
@@ -1,17 +1,17 @@
 package com.ethnicdev.identity.controller;
 
-import java.util.List;
-
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.ethnicdev.identity.dto.request.RoleRequest;
 import com.ethnicdev.identity.dto.response.ApiResponse;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.RoleResponse;
 import com.ethnicdev.identity.service.RoleService;
 
@@ -35,9 +35,10 @@ public class RoleController {
     }
 
     @GetMapping
-    public ApiResponse<List<RoleResponse>> getAll() {
-        return ApiResponse.<List<RoleResponse>>builder()
-                .result(this.roleService.getAll())
+    public ApiResponse<PageResponse<RoleResponse>> getAll(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        return ApiResponse.<PageResponse<RoleResponse>>builder()
+                .result(this.roleService.getAll(cursor, size))
                 .build();
     }
 
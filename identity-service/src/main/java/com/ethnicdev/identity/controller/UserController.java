@@ -1,9 +1,16 @@
 package com.ethnicdev.identity.controller;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,18 +18,25 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.ethnicdev.identity.dto.request.UserCreationRequest;
 import com.ethnicdev.identity.dto.request.UserUpdateRequest;
 import com.ethnicdev.identity.dto.response.ApiResponse;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.UserResponse;
+import com.ethnicdev.identity.service.UserExportService;
 import com.ethnicdev.identity.service.UserService;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -39,6 +53,12 @@ public class UserController {
 
     UserService userService;
 
+    UserExportService userExportService;
+
+    @NonFinal
+    @Value("${app.user-export.timeout}")
+    Duration exportTimeout;
+
     /**
      * Register new user.
      *
@@ -54,20 +74,88 @@ public class UserController {
     }
 
     /**
-     * Get all user.
+     * Get a page of users ordered by username.
      *
+     * @param role Role users must have
+     * @param username Prefix of username
+     * @param cursor Next page cursor of the previous page
+     * @param size Page size
      * @return Information of users
      */
     @GetMapping
-    ApiResponse<List<UserResponse>> getUsers() {
+    ApiResponse<PageResponse<UserResponse>> getUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         log.info("Username: {}", authentication.getName());
         authentication.getAuthorities().forEach(grantedAuthority -> log.info(grantedAuthority.getAuthority()));
-        return ApiResponse.<List<UserResponse>>builder()
-                .result(this.userService.getUsers())
+        return ApiResponse.<PageResponse<UserResponse>>builder()
+                .result(this.userService.getUsers(role, username, cursor, size))
                 .build();
     }
 
+    /**
+     * Export all users with their roles as newline-delimited JSON, gzip compressed when the client accepts it.
+     *
+     * @param after Id of the last user received by an interrupted export
+     * @param acceptEncoding Accept-Encoding header
+     * @param request Request, its async timeout is raised for the export only
+     * @return Users, one JSON object per line, ordered by id
+     */
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false) String after,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = this.userExportService.export(after, gzip);
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(this.exportTimeout.toMillis());
+        var response =
+                ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Whether gzip is acceptable, by its own q-value or else the q-value of "*". A coding with q=0 is refused.
+     *
+     * @param acceptEncoding Accept-Encoding header, null when absent
+     * @return True when the response may be gzip compressed
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (Objects.isNull(acceptEncoding)) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = Objects.isNull(gzip) ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        Double quality = Objects.nonNull(gzip) ? gzip : any;
+        return Objects.nonNull(quality) && quality > 0;
+    }
+
     /**
      * Get user by id.
      *
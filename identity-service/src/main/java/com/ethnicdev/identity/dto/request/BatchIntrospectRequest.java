@@ -0,0 +1,28 @@
+package com.ethnicdev.identity.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchIntrospectRequest {
+
+    // The endpoint is public, keep in line with app.auth.introspection.batch.max-size of api-gateway
+    public static final int MAX_TOKENS = 64;
+
+    @NotNull(message = "BATCH_INVALID")
+    @Size(max = MAX_TOKENS, message = "BATCH_INVALID")
+    List<@NotNull(message = "BATCH_INVALID") String> tokens;
+}
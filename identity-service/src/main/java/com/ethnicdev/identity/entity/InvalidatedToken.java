@@ -4,6 +4,8 @@ import java.util.Date;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -14,6 +16,11 @@ import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
 @Entity
+@Table(
+        indexes = {
+            @Index(name = "idx_invalidated_token_expiry_time", columnList = "expiryTime"),
+            @Index(name = "idx_invalidated_token_invalidated_at", columnList = "invalidatedAt")
+        })
 @Getter
 @Setter
 @Builder
@@ -26,4 +33,6 @@ public class InvalidatedToken {
     String id;
 
     Date expiryTime;
+
+    Date invalidatedAt;
 }
@@ -0,0 +1,37 @@
+package com.ethnicdev.identity.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SigningKey {
+
+    // Key id, sent as the kid header of the tokens it signs
+    @Id
+    String id;
+
+    // Private key in JWK format
+    @Column(columnDefinition = "TEXT")
+    String jwk;
+
+    Date createdAt;
+
+    Date activatesAt;
+}
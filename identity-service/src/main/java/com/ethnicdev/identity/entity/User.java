@@ -6,7 +6,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.Table;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -17,6 +21,7 @@ import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
 @Entity
+@Table(indexes = @Index(name = "idx_user_username_id", columnList = "username, id"))
 @Getter
 @Setter
 @Builder
@@ -32,6 +37,12 @@ public class User {
     String username;
     String password;
 
+    // Same names as the defaults, declared for the index that filters users by role
     @ManyToMany
+    @JoinTable(
+            name = "user_roles",
+            joinColumns = @JoinColumn(name = "user_id"),
+            inverseJoinColumns = @JoinColumn(name = "roles_name"),
+            indexes = @Index(name = "idx_user_roles_role_user", columnList = "roles_name, user_id"))
     Set<Role> roles;
 }
@@ -18,6 +18,9 @@ public enum ErrorCode {
     UNAUTHENTICATED(1006, "Unauthenticated", HttpStatus.UNAUTHORIZED),
     UNAUTHORIZED(1007, "You do not have permission.", HttpStatus.FORBIDDEN),
     INVALID_DOB(1008, "Your age must be at least {min}.", HttpStatus.BAD_REQUEST),
+    SERVICE_BUSY(1009, "Service is busy, please try again later.", HttpStatus.SERVICE_UNAVAILABLE),
+    CURSOR_INVALID(1010, "Invalid page cursor.", HttpStatus.BAD_REQUEST),
+    BATCH_INVALID(1011, "Tokens must be a list of at most {max} tokens.", HttpStatus.BAD_REQUEST),
     ;
 
     private int code;
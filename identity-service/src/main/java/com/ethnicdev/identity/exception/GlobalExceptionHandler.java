@@ -23,6 +23,8 @@ public class GlobalExceptionHandler {
 
     private static final String MIN_ARRTRIBUTE = "min";
 
+    private static final String MAX_ARRTRIBUTE = "max";
+
     @ExceptionHandler(value = Exception.class)
     ResponseEntity<ApiResponse<Object>> handlingRuntimeException(Exception exception) {
         ApiResponse<Object> apiResponse = new ApiResponse<>();
@@ -79,6 +81,10 @@ public class GlobalExceptionHandler {
 
     private String mapArtribute(String message, Map<String, Object> attributes) {
         String minValue = String.valueOf(attributes.get(MIN_ARRTRIBUTE));
-        return message.replace("{" + MIN_ARRTRIBUTE + "}", minValue);
+        message = message.replace("{" + MIN_ARRTRIBUTE + "}", minValue);
+        if (attributes.containsKey(MAX_ARRTRIBUTE)) {
+            message = message.replace("{" + MAX_ARRTRIBUTE + "}", String.valueOf(attributes.get(MAX_ARRTRIBUTE)));
+        }
+        return message;
     }
 }
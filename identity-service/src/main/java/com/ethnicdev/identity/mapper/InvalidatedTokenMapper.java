@@ -0,0 +1,13 @@
+package com.ethnicdev.identity.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+import com.ethnicdev.identity.dto.response.RevokedTokenResponse;
+import com.ethnicdev.identity.entity.InvalidatedToken;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface InvalidatedTokenMapper {
+
+    RevokedTokenResponse toRevokedTokenResponse(InvalidatedToken invalidatedToken);
+}
@@ -1,9 +1,26 @@
 package com.ethnicdev.identity.repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ethnicdev.identity.entity.InvalidatedToken;
 
 @Repository
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {}
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+
+    List<InvalidatedToken> findAllByExpiryTimeAfter(Date now);
+
+    List<InvalidatedToken> findAllByInvalidatedAtAfterAndExpiryTimeAfter(Date since, Date now);
+
+    @Query("select t.id from InvalidatedToken t where t.expiryTime < :cutoff")
+    List<String> findIdsByExpiryTimeBefore(@Param("cutoff") Date cutoff, Limit limit);
+
+    Optional<InvalidatedToken> findFirstByOrderByExpiryTimeAsc();
+}
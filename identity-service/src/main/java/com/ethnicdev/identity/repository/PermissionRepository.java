@@ -1,9 +1,18 @@
 package com.ethnicdev.identity.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ethnicdev.identity.entity.Permission;
 
 @Repository
-public interface PermissionRepository extends JpaRepository<Permission, String> {}
+public interface PermissionRepository extends JpaRepository<Permission, String> {
+
+    @Query("select p from Permission p where :after is null or p.name > :after order by p.name")
+    List<Permission> findPage(@Param("after") String after, Limit limit);
+}
@@ -1,9 +1,26 @@
 package com.ethnicdev.identity.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ethnicdev.identity.entity.Role;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, String> {}
+public interface RoleRepository extends JpaRepository<Role, String> {
+
+    @Query("select distinct r from Role r left join fetch r.permissions")
+    List<Role> findAllWithPermissions();
+
+    @EntityGraph(attributePaths = "permissions")
+    List<Role> findAllByNameIn(Collection<String> names);
+
+    @Query("select r.name from Role r where :after is null or r.name > :after order by r.name")
+    List<String> findPageNames(@Param("after") String after, Limit limit);
+}
@@ -0,0 +1,27 @@
+package com.ethnicdev.identity.repository;
+
+import java.util.stream.Stream;
+
+/**
+ * User export query, implemented by hand because its fetch size depends on the database.
+ */
+public interface UserExportRepository {
+
+    /**
+     * Stream every user with each of its roles, one row per user and role, ordered by user id. Rows are read from a
+     * forward-only cursor, the caller must be in a transaction and close the stream.
+     *
+     * @param after Id of the last user already read, null to start from the first user
+     * @return Rows of users and role names, role is null for a user without roles
+     */
+    Stream<ExportRow> streamExportRows(String after);
+
+    interface ExportRow {
+
+        String getId();
+
+        String getUsername();
+
+        String getRole();
+    }
+}
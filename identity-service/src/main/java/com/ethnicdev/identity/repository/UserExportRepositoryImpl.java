@@ -0,0 +1,65 @@
+package com.ethnicdev.identity.repository;
+
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+class UserExportRepositoryImpl implements UserExportRepository {
+
+    private static final String EXPORT_QUERY =
+            """
+			select u.id as id, u.username as username, r.name as role from User u left join u.roles r
+			where :after is null or u.id > :after
+			order by u.id
+			""";
+
+    EntityManager entityManager;
+
+    // Integer.MIN_VALUE on MySQL, which otherwise reads the whole result before returning the first row
+    @NonFinal
+    @Value("${app.user-export.fetch-size}")
+    int fetchSize;
+
+    @Override
+    public Stream<ExportRow> streamExportRows(String after) {
+        return this.entityManager
+                .createQuery(EXPORT_QUERY, Tuple.class)
+                .setParameter("after", after)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, this.fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(tuple -> new Row(
+                        tuple.get("id", String.class),
+                        tuple.get("username", String.class),
+                        tuple.get("role", String.class)));
+    }
+
+    private record Row(String id, String username, String role) implements ExportRow {
+
+        @Override
+        public String getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getUsername() {
+            return this.username;
+        }
+
+        @Override
+        public String getRole() {
+            return this.role;
+        }
+    }
+}
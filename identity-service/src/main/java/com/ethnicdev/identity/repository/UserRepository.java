@@ -1,8 +1,14 @@
 package com.ethnicdev.identity.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.ethnicdev.identity.entity.User;
@@ -13,7 +19,7 @@ import com.ethnicdev.identity.entity.User;
  * @author Thuol-S
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, UserExportRepository {
 
     /**
      * Check user exists by user nanme.
@@ -24,10 +30,71 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsByUsername(String username);
 
     /**
-     * Find user by username.
+     * Find user by username, with roles. Permissions are left out, token scopes come from RoleScopeCache.
      *
      * @param username Username of user
      * @return Optional of user entity
      */
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
+
+    /**
+     * Find user by username, with roles and permissions.
+     *
+     * @param username Username of user
+     * @return Optional of user entity
+     */
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesAndPermissionsByUsername(String username);
+
+    /**
+     * Find user by id, with roles and permissions.
+     *
+     * @param id Id of user
+     * @return Optional of user entity
+     */
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<User> findWithRolesById(String id);
+
+    /**
+     * Find users by id, with roles and permissions, in a single query.
+     *
+     * @param ids Ids of users
+     * @return Users, in no particular order
+     */
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    List<User> findAllWithRolesByIdIn(Collection<String> ids);
+
+    /**
+     * Find the keys of a page of users ordered by username then id, served by the (username, id) index.
+     *
+     * @param role Role users must have, null for any
+     * @param usernamePattern Like pattern escaped with '!', null for any
+     * @param afterUsername Username of the last user of the previous page, null for the first page
+     * @param afterId Id of the last user of the previous page
+     * @param limit Page size
+     * @return Keys of users
+     */
+    @Query(
+            """
+			select u.id as id, u.username as username from User u
+			where (:usernamePattern is null or u.username like :usernamePattern escape '!')
+			and (:role is null or exists (select 1 from u.roles r where r.name = :role))
+			and (:afterUsername is null or u.username > :afterUsername
+				or (u.username = :afterUsername and u.id > :afterId))
+			order by u.username, u.id
+			""")
+    List<Key> findPageKeys(
+            @Param("role") String role,
+            @Param("usernamePattern") String usernamePattern,
+            @Param("afterUsername") String afterUsername,
+            @Param("afterId") String afterId,
+            Limit limit);
+
+    interface Key {
+
+        String getId();
+
+        String getUsername();
+    }
 }
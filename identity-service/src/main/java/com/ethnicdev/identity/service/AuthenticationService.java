@@ -4,37 +4,33 @@ import static com.ethnicdev.identity.exception.ErrorCode.UNAUTHENTICATED;
 import static com.ethnicdev.identity.exception.ErrorCode.USER_NOT_EXISTED;
 
 import java.text.ParseException;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import com.ethnicdev.identity.dto.request.AuthenticationRequest;
+import com.ethnicdev.identity.dto.request.BatchIntrospectRequest;
 import com.ethnicdev.identity.dto.request.IntrospectRequest;
 import com.ethnicdev.identity.dto.request.LogoutRequest;
 import com.ethnicdev.identity.dto.request.RefreshRequest;
 import com.ethnicdev.identity.dto.response.AuthenticationResponse;
 import com.ethnicdev.identity.dto.response.IntrospectResponse;
+import com.ethnicdev.identity.dto.response.RevocationResponse;
 import com.ethnicdev.identity.entity.InvalidatedToken;
 import com.ethnicdev.identity.entity.User;
 import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.mapper.InvalidatedTokenMapper;
 import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
 import com.ethnicdev.identity.repository.UserRepository;
 import com.nimbusds.jose.JOSEException;
-import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSObject;
-import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.Payload;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 
@@ -54,9 +50,18 @@ public class AuthenticationService {
 
     InvalidatedTokenRepository invalidatedTokenRepository;
 
-    @NonFinal
-    @Value("${jwt.signerKey}")
-    protected String SIGNER_KEY;
+    InvalidatedTokenMapper invalidatedTokenMapper;
+
+    SigningKeyService signingKeyService;
+
+    PasswordHashingService passwordHashingService;
+
+    RevocationIndex revocationIndex;
+
+    RoleScopeCache roleScopeCache;
+
+    // Re-send a small window before the cursor so rows committed late are not missed
+    static final long REVOCATION_FEED_OVERLAP = 5000;
 
     @NonFinal
     @Value("${jwt.valid-duration}")
@@ -70,89 +75,137 @@ public class AuthenticationService {
         User user = this.userRepository
                 .findByUsername(request.getUsername())
                 .orElseThrow(() -> new AppException(USER_NOT_EXISTED));
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean authenticated = this.passwordHashingService.matches(request.getPassword(), user.getPassword());
         if (!authenticated) {
             throw new AppException(UNAUTHENTICATED);
         }
+        if (this.passwordHashingService.upgradeEncoding(user.getPassword())) {
+            this.rehash(user, request.getPassword());
+        }
         String token = this.generateToken(user);
         return AuthenticationResponse.builder().token(token).authenticated(true).build();
     }
 
-    public IntrospectResponse introspect(IntrospectRequest request) throws JOSEException, ParseException {
-        boolean isValid = true;
-        try {
-            this.verifyToken(request.getToken(), false);
-        } catch (AppException e) {
-            isValid = false;
-        }
+    public IntrospectResponse introspect(IntrospectRequest request) {
+        boolean isValid = this.verifyToken(request.getToken(), false).isValid();
         return IntrospectResponse.builder().valid(isValid).build();
     }
 
-    public void logout(LogoutRequest request) throws JOSEException, ParseException {
-        try {
-            var signedJWT = this.verifyToken(request.getToken(), true);
-            String jit = signedJWT.getJWTClaimsSet().getJWTID();
-            Date expityTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-            InvalidatedToken invalidatedToken =
-                    InvalidatedToken.builder().id(jit).expiryTime(expityTime).build();
-            this.invalidatedTokenRepository.save(invalidatedToken);
-        } catch (AppException e) {
+    /**
+     * Introspect many tokens in one call, results keep the order of the request.
+     */
+    public List<IntrospectResponse> introspectBatch(BatchIntrospectRequest request) {
+        List<IntrospectResponse> responses = new ArrayList<>(request.getTokens().size());
+        for (String token : request.getTokens()) {
+            responses.add(
+                    this.introspect(IntrospectRequest.builder().token(token).build()));
+        }
+        return responses;
+    }
+
+    public void logout(LogoutRequest request) {
+        TokenVerification verification = this.verifyToken(request.getToken(), true);
+        if (!verification.isValid()) {
             log.info("Token already expired.");
+            return;
         }
+        this.invalidate(verification.claims());
     }
 
-    public AuthenticationResponse refreshToken(RefreshRequest request) throws JOSEException, ParseException {
-        var signedJWT = this.verifyToken(request.getToken(), true);
-        String jit = signedJWT.getJWTClaimsSet().getJWTID();
-        Date expityTime = signedJWT.getJWTClaimsSet().getExpirationTime();
-        InvalidatedToken invalidatedToken =
-                InvalidatedToken.builder().id(jit).expiryTime(expityTime).build();
-        this.invalidatedTokenRepository.save(invalidatedToken);
-        String username = signedJWT.getJWTClaimsSet().getSubject();
+    public AuthenticationResponse refreshToken(RefreshRequest request) {
+        TokenVerification verification = this.verifyToken(request.getToken(), true);
+        if (!verification.isValid()) {
+            throw new AppException(UNAUTHENTICATED);
+        }
+        this.invalidate(verification.claims());
+        String username = verification.claims().getSubject();
         User user = this.userRepository.findByUsername(username).orElseThrow(() -> new AppException(UNAUTHENTICATED));
         String token = this.generateToken(user);
         return AuthenticationResponse.builder().token(token).authenticated(true).build();
     }
 
-    private SignedJWT verifyToken(String token, boolean isRefresh) throws JOSEException, ParseException {
-        JWSVerifier verifier = new MACVerifier(SIGNER_KEY.getBytes());
-        SignedJWT signedJWT = SignedJWT.parse(token);
-        boolean verified = signedJWT.verify(verifier);
-        Date expiryTime = isRefresh
-                ? new Date(signedJWT
-                        .getJWTClaimsSet()
-                        .getIssueTime()
-                        .toInstant()
-                        .plus(REFRESHABLE_DURATION, ChronoUnit.SECONDS)
-                        .toEpochMilli())
-                : signedJWT.getJWTClaimsSet().getExpirationTime();
-        if (!(verified && expiryTime.after(new Date()))) {
-            throw new AppException(UNAUTHENTICATED);
+    public RevocationResponse getRevocations(Long since) {
+        Date now = new Date();
+        var invalidatedTokens = Objects.isNull(since)
+                ? this.invalidatedTokenRepository.findAllByExpiryTimeAfter(now)
+                : this.invalidatedTokenRepository.findAllByInvalidatedAtAfterAndExpiryTimeAfter(
+                        new Date(since - REVOCATION_FEED_OVERLAP), now);
+        return RevocationResponse.builder()
+                .cursor(now.getTime())
+                .tokens(invalidatedTokens.stream()
+                        .map(this.invalidatedTokenMapper::toRevokedTokenResponse)
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Parse the token and its claims once, then run the checks from the cheapest to the most expensive: expiry, then
+     * signature, then revocation.
+     *
+     * @param isRefresh Accept a token expired for access but still inside the refreshable duration
+     */
+    private TokenVerification verifyToken(String token, boolean isRefresh) {
+        try {
+            SignedJWT signedJWT = SignedJWT.parse(token);
+            JWTClaimsSet claims = signedJWT.getJWTClaimsSet();
+            Date issueTime = claims.getIssueTime();
+            Date expiryTime = claims.getExpirationTime();
+            if (Objects.isNull(issueTime) || Objects.isNull(expiryTime)) {
+                return TokenVerification.REJECTED;
+            }
+            long validUntil = isRefresh
+                    ? issueTime.getTime() + TimeUnit.SECONDS.toMillis(REFRESHABLE_DURATION)
+                    : expiryTime.getTime();
+            if (validUntil <= System.currentTimeMillis()) {
+                return TokenVerification.REJECTED;
+            }
+            if (!this.signingKeyService.verify(signedJWT)) {
+                return TokenVerification.REJECTED;
+            }
+            if (this.revocationIndex.isRevoked(claims.getJWTID())) {
+                return TokenVerification.REJECTED;
+            }
+            return new TokenVerification(claims);
+        } catch (ParseException | JOSEException e) {
+            return TokenVerification.REJECTED;
         }
-        if (this.invalidatedTokenRepository.existsById(
-                signedJWT.getJWTClaimsSet().getJWTID())) {
-            throw new AppException(UNAUTHENTICATED);
+    }
+
+    private void invalidate(JWTClaimsSet claims) {
+        InvalidatedToken invalidatedToken = InvalidatedToken.builder()
+                .id(claims.getJWTID())
+                .expiryTime(claims.getExpirationTime())
+                .invalidatedAt(new Date())
+                .build();
+        this.invalidatedTokenRepository.save(invalidatedToken);
+        this.revocationIndex.revoke(invalidatedToken.getId(), invalidatedToken.getExpiryTime());
+    }
+
+    /**
+     * Store the password again with the current algorithm and cost. Best effort, a busy pool must not fail the login.
+     */
+    private void rehash(User user, String rawPassword) {
+        try {
+            user.setPassword(this.passwordHashingService.encode(rawPassword));
+            this.userRepository.save(user);
+        } catch (AppException e) {
+            log.debug("Password of {} not rehashed: {}", user.getUsername(), e.getMessage());
         }
-        return signedJWT;
     }
 
     private String generateToken(User user) {
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
+        long now = System.currentTimeMillis();
         JWTClaimsSet jwtClaimsSet = new JWTClaimsSet.Builder()
                 .subject(user.getUsername())
                 .issuer("ethnicdev.com")
-                .issueTime(new Date())
-                .expirationTime(new Date(
-                        Instant.now().plus(VALID_DUARTION, ChronoUnit.SECONDS).toEpochMilli()))
+                .issueTime(new Date(now))
+                .expirationTime(new Date(now + TimeUnit.SECONDS.toMillis(VALID_DUARTION)))
                 .jwtID(UUID.randomUUID().toString())
                 .claim("scope", this.buildScope(user))
+                .claim("userId", user.getId())
                 .build();
-        Payload payload = new Payload(jwtClaimsSet.toJSONObject());
-        JWSObject jwsObject = new JWSObject(header, payload);
         try {
-            jwsObject.sign(new MACSigner(SIGNER_KEY.getBytes()));
-            return jwsObject.serialize();
+            return this.signingKeyService.sign(jwtClaimsSet);
         } catch (JOSEException e) {
             log.error("Cannot create token", e);
             throw new RuntimeException(e);
@@ -162,15 +215,7 @@ public class AuthenticationService {
     private String buildScope(User user) {
         StringJoiner stringJoiner = new StringJoiner(" ");
         if (!CollectionUtils.isEmpty(user.getRoles())) {
-            user.getRoles().forEach(role -> {
-                stringJoiner.add(new StringBuilder()
-                        .append("ROLE_")
-                        .append(role.getName())
-                        .toString());
-                if (!CollectionUtils.isEmpty(role.getPermissions())) {
-                    role.getPermissions().forEach(permisison -> stringJoiner.add(permisison.getName()));
-                }
-            });
+            user.getRoles().forEach(role -> stringJoiner.add(this.roleScopeCache.getFragment(role.getName())));
         }
         return stringJoiner.toString();
     }
@@ -0,0 +1,105 @@
+package com.ethnicdev.identity.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes invalidated token rows once their token can be neither used nor refreshed. Rows go in bounded batches with a
+ * pause between them, so the purge does not compete with foreground queries.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class InvalidatedTokenPurgeService {
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    RevocationIndex revocationIndex;
+
+    MeterRegistry meterRegistry;
+
+    // How long the oldest row due for deletion has been waiting, in millisecond, 0 when the purge is caught up
+    AtomicLong lag = new AtomicLong();
+
+    @NonFinal
+    @Value("${app.invalidated-token-purge.batch-size}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.invalidated-token-purge.max-batches}")
+    int maxBatches;
+
+    @NonFinal
+    @Value("${app.invalidated-token-purge.batch-pause}")
+    Duration batchPause;
+
+    @NonFinal
+    Counter purged;
+
+    @PostConstruct
+    void init() {
+        this.purged = Counter.builder("identity.invalidated-token.purged")
+                .description("Invalidated token rows deleted by the purge job")
+                .register(this.meterRegistry);
+        TimeGauge.builder("identity.invalidated-token.purge.lag", this.lag, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest invalidated token row due for deletion")
+                .register(this.meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidated-token-purge.interval}")
+    public void purge() {
+        Date cutoff = new Date(System.currentTimeMillis() - this.revocationIndex.refreshWindow());
+        try {
+            int total = 0;
+            for (int batch = 0; batch < this.maxBatches; batch++) {
+                if (batch > 0) {
+                    Thread.sleep(this.batchPause.toMillis());
+                }
+                List<String> ids =
+                        this.invalidatedTokenRepository.findIdsByExpiryTimeBefore(cutoff, Limit.of(this.batchSize));
+                if (!ids.isEmpty()) {
+                    this.invalidatedTokenRepository.deleteAllByIdInBatch(ids);
+                    this.purged.increment(ids.size());
+                    total += ids.size();
+                }
+                if (ids.size() < this.batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Purged {} invalidated tokens", total);
+            }
+            this.lag.set(this.invalidatedTokenRepository
+                    .findFirstByOrderByExpiryTimeAsc()
+                    .map(token ->
+                            Math.max(0, cutoff.getTime() - token.getExpiryTime().getTime()))
+                    .orElse(0L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Cannot purge invalidated tokens: {}", e.getMessage());
+        }
+    }
+}
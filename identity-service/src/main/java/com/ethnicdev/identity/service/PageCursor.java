@@ -0,0 +1,93 @@
+package com.ethnicdev.identity.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.ethnicdev.identity.dto.response.PageResponse;
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+
+/**
+ * Keyset page cursor: the sort key of the last row of a page, encoded so clients treat it as opaque. The next page
+ * starts strictly after that key, so it costs an index range scan however deep the client pages.
+ */
+final class PageCursor {
+
+    static final int DEFAULT_SIZE = 20;
+
+    static final int MAX_SIZE = 100;
+
+    // Not a backslash, MySQL would read it as a string escape
+    static final char LIKE_ESCAPE = '!';
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursor() {}
+
+    static int size(Integer requested) {
+        if (Objects.isNull(requested)) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor Cursor from a previous page, null for the first page
+     * @param keys Number of sort key columns
+     * @return Sort key of the last row of the previous page, null for the first page
+     */
+    static String[] decode(String cursor, int keys) {
+        if (Objects.isNull(cursor)) {
+            return null;
+        }
+        try {
+            String[] parts = cursor.split("\\.", -1);
+            if (parts.length != keys) {
+                throw new AppException(ErrorCode.CURSOR_INVALID);
+            }
+            return Arrays.stream(parts)
+                    .map(part -> new String(DECODER.decode(part), StandardCharsets.UTF_8))
+                    .toArray(String[]::new);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.CURSOR_INVALID);
+        }
+    }
+
+    static String encode(String... key) {
+        return String.join(
+                ".",
+                Arrays.stream(key)
+                        .map(part -> ENCODER.encodeToString(part.getBytes(StandardCharsets.UTF_8)))
+                        .toList());
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code size + 1}, the extra row only tells there is a next page.
+     */
+    static <E, R> PageResponse<R> page(List<E> rows, int size, Function<E, R> mapper, Function<E, String[]> key) {
+        List<E> items = rows.subList(0, Math.min(rows.size(), size));
+        return PageResponse.<R>builder()
+                // A null is a row deleted since its key was read
+                .items(items.stream().map(mapper).filter(Objects::nonNull).toList())
+                .nextCursor(rows.size() > size ? encode(key.apply(items.get(items.size() - 1))) : null)
+                .build();
+    }
+
+    /**
+     * Pattern matching every value starting with the prefix, for a {@code like} with {@link #LIKE_ESCAPE}.
+     */
+    static String likePrefix(String prefix) {
+        if (Objects.isNull(prefix) || prefix.isEmpty()) {
+            return null;
+        }
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,109 @@
+package com.ethnicdev.identity.service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Runs password hashing on a bounded pool instead of the request threads. When the pool and its queue are full the
+ * call fails fast with {@link ErrorCode#SERVICE_BUSY}, so a login storm cannot starve the other endpoints.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PasswordHashingService {
+
+    PasswordEncoder passwordEncoder;
+
+    ThreadPoolExecutor executor;
+
+    long timeout;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.threads}") int threads,
+            @Value("${app.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${app.password-hashing.timeout}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout.toMillis();
+        new ExecutorServiceMetrics(this.executor, "password.hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return this.submit(() -> this.passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return this.submit(() -> this.passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Cheap, only reads the algorithm and cost from the stored hash.
+     *
+     * @return True when the hash was made with another algorithm or a lower cost than the current setting
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = this.executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new AppException(ErrorCode.SERVICE_BUSY);
+        }
+        try {
+            return future.get(this.timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A task still queued is skipped, one already hashing runs to completion
+            future.cancel(false);
+            throw new AppException(ErrorCode.SERVICE_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new AppException(ErrorCode.SERVICE_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.ethnicdev.identity.service;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.ethnicdev.identity.dto.request.PermissionRequest;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.PermissionResponse;
 import com.ethnicdev.identity.entity.Permission;
 import com.ethnicdev.identity.mapper.PermissionMapper;
@@ -22,21 +23,27 @@ public class PermissionService {
 
     PermissionRepository permissionRepository;
     PermissionMapper permissionMapper;
+    RoleScopeCache roleScopeCache;
 
     public PermissionResponse create(PermissionRequest request) {
         Permission permission = this.permissionMapper.toPermission(request);
         permission = this.permissionRepository.save(permission);
+        // Saving over an existing permission is picked up by the roles holding it
+        this.roleScopeCache.invalidate();
         return this.permissionMapper.toPermissionResponse(permission);
     }
 
-    public List<PermissionResponse> getAll() {
-        var permissions = this.permissionRepository.findAll();
-        return permissions.stream()
-                .map(this.permissionMapper::toPermissionResponse)
-                .collect(Collectors.toList());
+    public PageResponse<PermissionResponse> getAll(String cursor, Integer size) {
+        int pageSize = PageCursor.size(size);
+        String[] after = PageCursor.decode(cursor, 1);
+        var permissions =
+                this.permissionRepository.findPage(Objects.isNull(after) ? null : after[0], Limit.of(pageSize + 1));
+        return PageCursor.page(permissions, pageSize, this.permissionMapper::toPermissionResponse, permission ->
+                new String[] {permission.getName()});
     }
 
     public void delete(String permisison) {
         this.permissionRepository.deleteById(permisison);
+        this.roleScopeCache.invalidate();
     }
 }
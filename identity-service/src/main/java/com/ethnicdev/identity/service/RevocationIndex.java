@@ -0,0 +1,189 @@
+package com.ethnicdev.identity.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.identity.entity.InvalidatedToken;
+import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revoked token ids held in memory so that verifying a token does not query the database. A Bloom filter answers
+ * "definitely not revoked" for almost every token, the exact map behind it settles the rest.
+ *
+ * <p>An id is kept until its token can no longer be refreshed, that is {@code exp} plus the refresh window. The index
+ * is loaded from the table on startup and then polled for revocations made by other instances, until the first load
+ * succeeds lookups go to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RevocationIndex {
+
+    // Re-read a small window before the cursor so rows committed late are not missed
+    static final long SYNC_OVERLAP = 5000;
+
+    static final int MIN_CAPACITY = 1024;
+
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    // Token id -> time in millisecond after which the token can be neither used nor refreshed
+    Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    @NonFinal
+    @Value("${jwt.valid-duration}")
+    long validDuration;
+
+    @NonFinal
+    @Value("${jwt.refreshable-duration}")
+    long refreshableDuration;
+
+    @NonFinal
+    volatile BloomFilter bloomFilter = new BloomFilter(MIN_CAPACITY);
+
+    @NonFinal
+    volatile Long cursor;
+
+    public boolean isRevoked(String jti) {
+        if (Objects.isNull(jti)) {
+            return false;
+        }
+        if (Objects.isNull(this.cursor)) {
+            return this.invalidatedTokenRepository.existsById(jti);
+        }
+        return this.bloomFilter.mightContain(jti) && this.revokedTokens.containsKey(jti);
+    }
+
+    public synchronized void revoke(String jti, Date expiryTime) {
+        // Bloom filter first, a reader must never find the id in the map but not in the filter
+        this.bloomFilter.put(jti);
+        this.revokedTokens.put(jti, this.retainUntil(expiryTime));
+        if (this.revokedTokens.size() > this.bloomFilter.capacity()) {
+            this.rebuildBloomFilter();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation-index.sync-interval}")
+    synchronized void sync() {
+        long now = System.currentTimeMillis();
+        // Tokens which expired less than the refresh window ago can still be refreshed
+        Date horizon = new Date(now - this.refreshWindow());
+        try {
+            List<InvalidatedToken> invalidatedTokens = Objects.isNull(this.cursor)
+                    ? this.invalidatedTokenRepository.findAllByExpiryTimeAfter(horizon)
+                    : this.invalidatedTokenRepository.findAllByInvalidatedAtAfterAndExpiryTimeAfter(
+                            new Date(this.cursor - SYNC_OVERLAP), horizon);
+            invalidatedTokens.forEach(token -> {
+                this.bloomFilter.put(token.getId());
+                this.revokedTokens.put(token.getId(), this.retainUntil(token.getExpiryTime()));
+            });
+            if (Objects.isNull(this.cursor)) {
+                log.info("Revocation index loaded with {} tokens", this.revokedTokens.size());
+            }
+            this.cursor = now;
+        } catch (RuntimeException e) {
+            log.warn("Cannot sync revocation index: {}", e.getMessage());
+        }
+        boolean removed = this.revokedTokens.values().removeIf(retainUntil -> retainUntil <= now);
+        if (removed || this.revokedTokens.size() > this.bloomFilter.capacity()) {
+            this.rebuildBloomFilter();
+        }
+    }
+
+    /**
+     * Bloom filters cannot forget, so expired ids are dropped by building a new one from the exact map. Callers hold
+     * the lock, which keeps a concurrent {@link #revoke} from landing in the filter being replaced.
+     */
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_CAPACITY, this.revokedTokens.size() * 2));
+        this.revokedTokens.keySet().forEach(rebuilt::put);
+        this.bloomFilter = rebuilt;
+    }
+
+    private long retainUntil(Date expiryTime) {
+        return expiryTime.getTime() + this.refreshWindow();
+    }
+
+    /**
+     * @return How long after {@code exp} a token can still be refreshed, in millisecond
+     */
+    long refreshWindow() {
+        return TimeUnit.SECONDS.toMillis(Math.max(0, this.refreshableDuration - this.validDuration));
+    }
+
+    /**
+     * Sized for about 1% false positives at capacity. Bits are only ever set, so concurrent reads need no lock.
+     */
+    static final class BloomFilter {
+
+        static final int BITS_PER_ENTRY = 10;
+
+        static final int HASHES = 7;
+
+        final int capacity;
+
+        final int numBits;
+
+        final AtomicLongArray bits;
+
+        BloomFilter(int capacity) {
+            this.capacity = capacity;
+            this.numBits = capacity * BITS_PER_ENTRY;
+            this.bits = new AtomicLongArray((this.numBits + 63) / 64);
+        }
+
+        int capacity() {
+            return this.capacity;
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASHES; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.numBits;
+                long mask = 1L << bit;
+                this.bits.getAndAccumulate(bit >>> 6, mask, (current, update) -> current | update);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= HASHES; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % this.numBits;
+                if ((this.bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a, split into the two hashes of the Kirsch-Mitzenmacher scheme
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
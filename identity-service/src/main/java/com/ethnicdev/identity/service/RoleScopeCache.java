@@ -0,0 +1,128 @@
+package com.ethnicdev.identity.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import com.ethnicdev.identity.entity.Role;
+import com.ethnicdev.identity.repository.RoleRepository;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scope fragment of every role, e.g. {@code "ROLE_ADMIN CREATE_DATA UPDATE_DATA"}, so issuing a token does not load
+ * the permissions of each role. {@link RoleService} and {@link PermissionService} invalidate it on every change, the
+ * periodic reload picks up changes made through another instance. A single load runs at a time, requests arriving
+ * meanwhile keep using the previous scopes.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class RoleScopeCache {
+
+    // A role unknown here reloads the roles at most this often, a login with a stale role must not hit the database
+    static final long MIN_RELOAD_INTERVAL = 5000;
+
+    RoleRepository roleRepository;
+
+    // Bumped by every invalidation, a load started before it must not be published
+    AtomicLong generation = new AtomicLong();
+
+    // One load at a time, the other requests wait for it or keep the previous scopes meanwhile
+    ReentrantLock loadLock = new ReentrantLock();
+
+    // Role name -> scope fragment, null until first loaded
+    @NonFinal
+    volatile Map<String, String> fragments;
+
+    // Set by an invalidation until a load started after it is published
+    @NonFinal
+    volatile boolean stale;
+
+    @NonFinal
+    volatile long loadedAt;
+
+    public String getFragment(String roleName) {
+        Map<String, String> current = this.fragments;
+        if (Objects.isNull(current)
+                || this.stale
+                // A role unknown here may have been created through another instance
+                || (!current.containsKey(roleName)
+                        && System.currentTimeMillis() - this.loadedAt >= MIN_RELOAD_INTERVAL)) {
+            current = this.reload(current);
+        }
+        return current.getOrDefault(roleName, scopeOf(roleName));
+    }
+
+    public synchronized void invalidate() {
+        this.generation.incrementAndGet();
+        this.stale = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.role-scope-cache.refresh-interval}")
+    void refresh() {
+        try {
+            this.reload(this.fragments);
+        } catch (RuntimeException e) {
+            log.warn("Cannot load role scopes", e);
+        }
+    }
+
+    private Map<String, String> reload(Map<String, String> current) {
+        if (Objects.isNull(current)) {
+            this.loadLock.lock();
+        } else if (!this.loadLock.tryLock()) {
+            return current;
+        }
+        try {
+            Map<String, String> latest = this.fragments;
+            if (Objects.nonNull(latest) && latest != current && !this.stale) {
+                // Loaded by another request while this one waited
+                return latest;
+            }
+            return this.load();
+        } finally {
+            this.loadLock.unlock();
+        }
+    }
+
+    Map<String, String> load() {
+        long loadedGeneration = this.generation.get();
+        this.loadedAt = System.currentTimeMillis();
+        Map<String, String> loaded = new HashMap<>();
+        this.roleRepository.findAllWithPermissions().forEach(role -> loaded.put(role.getName(), scopeOf(role)));
+        Map<String, String> result = Map.copyOf(loaded);
+        synchronized (this) {
+            if (this.generation.get() == loadedGeneration) {
+                this.fragments = result;
+                this.stale = false;
+            }
+        }
+        return result;
+    }
+
+    private static String scopeOf(String roleName) {
+        return "ROLE_" + roleName;
+    }
+
+    private static String scopeOf(Role role) {
+        StringJoiner stringJoiner = new StringJoiner(" ");
+        stringJoiner.add(scopeOf(role.getName()));
+        if (!CollectionUtils.isEmpty(role.getPermissions())) {
+            role.getPermissions().forEach(permission -> stringJoiner.add(permission.getName()));
+        }
+        return stringJoiner.toString();
+    }
+}
@@ -2,12 +2,18 @@ package com.ethnicdev.identity.service;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import com.ethnicdev.identity.dto.request.RoleRequest;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.RoleResponse;
+import com.ethnicdev.identity.entity.Role;
 import com.ethnicdev.identity.mapper.RoleMapper;
 import com.ethnicdev.identity.repository.PermissionRepository;
 import com.ethnicdev.identity.repository.RoleRepository;
@@ -24,22 +30,35 @@ public class RoleService {
     RoleRepository roleRepository;
     PermissionRepository permissionRepository;
     RoleMapper roleMapper;
+    RoleScopeCache roleScopeCache;
 
     public RoleResponse create(RoleRequest request) {
         var role = this.roleMapper.toRole(request);
         var permissions = this.permissionRepository.findAllById(request.getPermissions());
         role.setPermissions(new HashSet<>(permissions));
         role = this.roleRepository.save(role);
+        this.roleScopeCache.invalidate();
         return this.roleMapper.toRoleResponse(role);
     }
 
-    public List<RoleResponse> getAll() {
-        return this.roleRepository.findAll().stream()
-                .map(this.roleMapper::toRoleResponse)
-                .collect(Collectors.toList());
+    public PageResponse<RoleResponse> getAll(String cursor, Integer size) {
+        int pageSize = PageCursor.size(size);
+        String[] after = PageCursor.decode(cursor, 1);
+
+        // Names first, a collection fetch cannot be limited in the database
+        List<String> names =
+                this.roleRepository.findPageNames(Objects.isNull(after) ? null : after[0], Limit.of(pageSize + 1));
+        Map<String, Role> roles = this.roleRepository
+                .findAllByNameIn(names.stream().limit(pageSize).toList())
+                .stream()
+                .collect(Collectors.toMap(Role::getName, Function.identity()));
+
+        return PageCursor.page(
+                names, pageSize, name -> this.roleMapper.toRoleResponse(roles.get(name)), name -> new String[] {name});
     }
 
     public void delete(String role) {
         this.roleRepository.deleteById(role);
+        this.roleScopeCache.invalidate();
     }
 }
@@ -0,0 +1,251 @@
+package com.ethnicdev.identity.service;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ethnicdev.identity.entity.SigningKey;
+import com.ethnicdev.identity.repository.SigningKeyRepository;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asymmetric keys signing the access tokens. Keys are stored in the database, so every instance signs with and
+ * publishes the same set. A new key is published {@code activation-delay} before it starts signing, giving verifiers
+ * time to fetch it, and stays published for {@code refreshable-duration} after the next key takes over.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SigningKeyService {
+
+    // An unknown key id reloads the keys at most this often, forged kid headers must not hammer the database
+    static final long MIN_RELOAD_INTERVAL = 5000;
+
+    SigningKeyRepository signingKeyRepository;
+
+    @NonFinal
+    @Value("${jwt.signing.algorithm}")
+    String algorithm;
+
+    @NonFinal
+    @Value("${jwt.signing.rotation-interval}")
+    long rotationInterval;
+
+    @NonFinal
+    @Value("${jwt.signing.activation-delay}")
+    long activationDelay;
+
+    @NonFinal
+    @Value("${jwt.refreshable-duration}")
+    long refreshableDuration;
+
+    @NonFinal
+    volatile KeyRing keyRing = KeyRing.EMPTY;
+
+    @NonFinal
+    volatile long loadedAt;
+
+    public String sign(JWTClaimsSet claims) throws JOSEException {
+        KeyRing ring = this.keyRing;
+        if (Objects.isNull(ring.signer())) {
+            this.rotate();
+            ring = this.keyRing;
+            if (Objects.isNull(ring.signer())) {
+                throw new JOSEException("No signing key available");
+            }
+        }
+        SignedJWT signedJWT = new SignedJWT(ring.header(), claims);
+        signedJWT.sign(ring.signer());
+        return signedJWT.serialize();
+    }
+
+    public boolean verify(SignedJWT signedJWT) throws JOSEException {
+        String keyId = signedJWT.getHeader().getKeyID();
+        if (Objects.isNull(keyId)) {
+            return false;
+        }
+        JWSVerifier verifier = this.keyRing.verifiers().get(keyId);
+        if (Objects.isNull(verifier) && System.currentTimeMillis() - this.loadedAt >= MIN_RELOAD_INTERVAL) {
+            // Another instance may have rotated since the last load
+            this.load();
+            verifier = this.keyRing.verifiers().get(keyId);
+        }
+        return Objects.nonNull(verifier) && signedJWT.verify(verifier);
+    }
+
+    /**
+     * @return Public keys of the published signing keys, in JWK Set format
+     */
+    public Map<String, Object> getJwkSet() {
+        return this.keyRing.jwkSet();
+    }
+
+    /**
+     * Reload the keys, add a new one when the newest is older than the rotation interval and delete the keys which
+     * cannot verify a live token anymore.
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval}")
+    public synchronized void rotate() {
+        try {
+            List<SigningKey> keys = new ArrayList<>(this.signingKeyRepository.findAllByOrderByActivatesAtAsc());
+            Instant now = Instant.now();
+            if (keys.isEmpty()
+                    || !keys.get(keys.size() - 1)
+                            .getCreatedAt()
+                            .toInstant()
+                            .plusSeconds(this.rotationInterval)
+                            .isAfter(now)) {
+                // The very first key signs right away, later ones wait until verifiers have fetched them
+                Instant activatesAt = keys.isEmpty() ? now : now.plusSeconds(this.activationDelay);
+                SigningKey signingKey = this.signingKeyRepository.save(this.generate(now, activatesAt));
+                keys.add(signingKey);
+                log.info("Signing key {} created, signs from {}", signingKey.getId(), activatesAt);
+            }
+            KeyRing ring = this.buildKeyRing(keys, now);
+            List<String> expired = keys.stream()
+                    .map(SigningKey::getId)
+                    .filter(id -> !ring.verifiers().containsKey(id))
+                    .toList();
+            if (!expired.isEmpty()) {
+                this.signingKeyRepository.deleteAllById(expired);
+            }
+            this.keyRing = ring;
+            this.loadedAt = System.currentTimeMillis();
+        } catch (RuntimeException | JOSEException | ParseException e) {
+            log.warn("Cannot rotate signing keys: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void load() {
+        try {
+            this.keyRing = this.buildKeyRing(this.signingKeyRepository.findAllByOrderByActivatesAtAsc(), Instant.now());
+        } catch (RuntimeException | JOSEException | ParseException e) {
+            log.warn("Cannot load signing keys: {}", e.getMessage());
+        }
+        this.loadedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * @param keys Keys ordered by activation time
+     */
+    private KeyRing buildKeyRing(List<SigningKey> keys, Instant now) throws JOSEException, ParseException {
+        JWK current = null;
+        Map<String, JWSVerifier> verifiers = new HashMap<>();
+        List<JWK> published = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Instant activatesAt = keys.get(i).getActivatesAt().toInstant();
+            Instant supersededAt =
+                    i + 1 < keys.size() ? keys.get(i + 1).getActivatesAt().toInstant() : null;
+            boolean superseded = Objects.nonNull(supersededAt) && !supersededAt.isAfter(now);
+            if (superseded && supersededAt.plusSeconds(this.refreshableDuration).isBefore(now)) {
+                continue;
+            }
+            JWK jwk = JWK.parse(keys.get(i).getJwk());
+            if (!activatesAt.isAfter(now) && !superseded) {
+                current = jwk;
+            }
+            verifiers.put(jwk.getKeyID(), verifierOf(jwk));
+            published.add(jwk.toPublicJWK());
+        }
+        if (Objects.isNull(current)) {
+            return new KeyRing(null, null, Map.copyOf(verifiers), new JWKSet(published).toJSONObject());
+        }
+        JWSHeader header = new JWSHeader.Builder(
+                        JWSAlgorithm.parse(current.getAlgorithm().getName()))
+                .keyID(current.getKeyID())
+                .build();
+        return new KeyRing(header, signerOf(current), Map.copyOf(verifiers), new JWKSet(published).toJSONObject());
+    }
+
+    private SigningKey generate(Instant createdAt, Instant activatesAt) throws JOSEException {
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(this.algorithm);
+        String keyId = UUID.randomUUID().toString();
+        JWK jwk;
+        if (JWSAlgorithm.ES256.equals(jwsAlgorithm)) {
+            jwk = new ECKeyGenerator(Curve.P_256)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(jwsAlgorithm)
+                    .generate();
+        } else if (JWSAlgorithm.RS256.equals(jwsAlgorithm)) {
+            jwk = new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(jwsAlgorithm)
+                    .generate();
+        } else {
+            throw new JOSEException("Unsupported signing algorithm " + this.algorithm);
+        }
+        return SigningKey.builder()
+                .id(keyId)
+                .jwk(jwk.toJSONString())
+                .createdAt(Date.from(createdAt))
+                .activatesAt(Date.from(activatesAt))
+                .build();
+    }
+
+    private static JWSSigner signerOf(JWK jwk) throws JOSEException {
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSASigner(ecKey);
+        }
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSASigner(rsaKey);
+        }
+        throw new JOSEException("Unsupported key type " + jwk.getKeyType());
+    }
+
+    private static JWSVerifier verifierOf(JWK jwk) throws JOSEException {
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey.toPublicJWK());
+        }
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey.toPublicJWK());
+        }
+        throw new JOSEException("Unsupported key type " + jwk.getKeyType());
+    }
+
+    /**
+     * Signer and verifiers are thread-safe, they are built once per load and shared by all requests.
+     *
+     * @param header Header with the key id of the signing key, null when no key is active yet
+     */
+    record KeyRing(JWSHeader header, JWSSigner signer, Map<String, JWSVerifier> verifiers, Map<String, Object> jwkSet) {
+
+        static final KeyRing EMPTY = new KeyRing(null, null, Map.of(), new JWKSet().toJSONObject());
+    }
+}
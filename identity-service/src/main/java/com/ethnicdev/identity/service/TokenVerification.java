@@ -0,0 +1,20 @@
+package com.ethnicdev.identity.service;
+
+import java.util.Objects;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+/**
+ * Outcome of verifying a token. Rejection is a shared value instead of an exception, invalid tokens are routine on the
+ * introspection path and a stack trace per rejected token is pure overhead.
+ *
+ * @param claims Claims parsed once during verification, null when rejected
+ */
+public record TokenVerification(JWTClaimsSet claims) {
+
+    static final TokenVerification REJECTED = new TokenVerification(null);
+
+    public boolean isValid() {
+        return Objects.nonNull(this.claims);
+    }
+}
@@ -0,0 +1,139 @@
+package com.ethnicdev.identity.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ethnicdev.identity.dto.response.UserExportResponse;
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+import com.ethnicdev.identity.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk export of users as newline-delimited JSON. Rows are streamed from a database cursor and written as they are
+ * read, so memory does not grow with the table. Users are ordered by id, an interrupted export resumes after the id
+ * of the last complete line. A running export holds a database connection, past the concurrency limit a new one
+ * fails fast with {@link ErrorCode#SERVICE_BUSY}.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class UserExportService {
+
+    static final int GZIP_BUFFER_SIZE = 8192;
+
+    UserRepository userRepository;
+
+    PlatformTransactionManager transactionManager;
+
+    ObjectMapper objectMapper;
+
+    Semaphore permits;
+
+    public UserExportService(
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${app.user-export.max-concurrent}") int maxConcurrent) {
+        this.userRepository = userRepository;
+        this.transactionManager = transactionManager;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Export users with their role names.
+     *
+     * @param after Id of the last user received by an interrupted export, null to start from the first user
+     * @param gzip Compress the output
+     * @return Body written from the database cursor, its concurrency slot is released once it has been written
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public StreamingResponseBody export(String after, boolean gzip) {
+        if (!this.permits.tryAcquire()) {
+            throw new AppException(ErrorCode.SERVICE_BUSY);
+        }
+        return outputStream -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    this.write(after, gzipOutputStream);
+                    gzipOutputStream.finish();
+                } else {
+                    this.write(after, outputStream);
+                }
+            } finally {
+                this.permits.release();
+            }
+        };
+    }
+
+    void write(String after, OutputStream outputStream) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            long exported = transactionTemplate.execute(status -> {
+                try (Stream<UserRepository.ExportRow> rows = this.userRepository.streamExportRows(after)) {
+                    return this.writeUsers(rows.iterator(), outputStream);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exported {} users after {}", exported, after);
+        } catch (UncheckedIOException e) {
+            // Usually the client went away, it resumes with the id of its last complete line
+            throw e.getCause();
+        }
+    }
+
+    private long writeUsers(Iterator<UserRepository.ExportRow> rows, OutputStream outputStream) throws IOException {
+        long exported = 0;
+        UserExportResponse user = null;
+        while (rows.hasNext()) {
+            // Rows of a user are adjacent, one per role
+            UserRepository.ExportRow row = rows.next();
+            if (Objects.isNull(user) || !user.getId().equals(row.getId())) {
+                if (Objects.nonNull(user)) {
+                    this.writeLine(user, outputStream);
+                    exported++;
+                }
+                user = UserExportResponse.builder()
+                        .id(row.getId())
+                        .username(row.getUsername())
+                        .roles(new ArrayList<>())
+                        .build();
+            }
+            if (Objects.nonNull(row.getRole())) {
+                user.getRoles().add(row.getRole());
+            }
+        }
+        if (Objects.nonNull(user)) {
+            this.writeLine(user, outputStream);
+            exported++;
+        }
+        return exported;
+    }
+
+    private void writeLine(UserExportResponse user, OutputStream outputStream) throws IOException {
+        outputStream.write(this.objectMapper.writeValueAsBytes(user));
+        outputStream.write('\n');
+    }
+}
@@ -2,20 +2,24 @@ package com.ethnicdev.identity.service;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.transaction.Transactional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.ethnicdev.identity.constant.PredefinedRole;
 import com.ethnicdev.identity.dto.request.ProfileCreationRequest;
 import com.ethnicdev.identity.dto.request.UserCreationRequest;
 import com.ethnicdev.identity.dto.request.UserUpdateRequest;
+import com.ethnicdev.identity.dto.response.PageResponse;
 import com.ethnicdev.identity.dto.response.UserProfileResponse;
 import com.ethnicdev.identity.dto.response.UserResponse;
 import com.ethnicdev.identity.entity.Role;
@@ -54,7 +58,7 @@ public class UserService {
 
     RoleRepository roleRepository;
 
-    PasswordEncoder passwordEncoder;
+    PasswordHashingService passwordHashingService;
 
     /**
      * Create new user.
@@ -75,7 +79,7 @@ public class UserService {
         User user = this.userMapper.toUser(request);
 
         // Set password after encode
-        String passwordEncoded = passwordEncoder.encode(request.getPassword());
+        String passwordEncoded = this.passwordHashingService.encode(request.getPassword());
         user.setPassword(passwordEncoded);
 
         // Set role
@@ -102,15 +106,36 @@ public class UserService {
     }
 
     /**
-     * Get all user.
+     * Get a page of users ordered by username.
      *
+     * @param role Role users must have, null for any
+     * @param username Prefix of username, null for any
+     * @param cursor Next page cursor of the previous page, null for the first page
+     * @param size Page size, null for the default
      * @return Information of users
      */
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserResponse> getUsers() {
-        return this.userRepository.findAll().stream()
-                .map(this.userMapper::toUserResponse)
-                .collect(Collectors.toList());
+    public PageResponse<UserResponse> getUsers(String role, String username, String cursor, Integer size) {
+        int pageSize = PageCursor.size(size);
+        String[] after = PageCursor.decode(cursor, 2);
+
+        // Keys first, a collection fetch cannot be limited in the database
+        List<UserRepository.Key> keys = this.userRepository.findPageKeys(
+                role,
+                PageCursor.likePrefix(username),
+                Objects.isNull(after) ? null : after[0],
+                Objects.isNull(after) ? null : after[1],
+                Limit.of(pageSize + 1));
+        Map<String, User> users = this.userRepository
+                .findAllWithRolesByIdIn(keys.stream()
+                        .limit(pageSize)
+                        .map(UserRepository.Key::getId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return PageCursor.page(keys, pageSize, key -> this.userMapper.toUserResponse(users.get(key.getId())), key ->
+                new String[] {key.getUsername(), key.getId()});
     }
 
     /**
@@ -121,8 +146,9 @@ public class UserService {
      */
     @PostAuthorize("returnObject.username == authentication.name")
     public UserResponse getUser(String userId) {
-        return this.userMapper.toUserResponse(
-                this.userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found")));
+        return this.userMapper.toUserResponse(this.userRepository
+                .findWithRolesById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found")));
     }
 
     /**
@@ -140,7 +166,7 @@ public class UserService {
 
         // Get user by username
         User user = this.userRepository
-                .findByUsername(username)
+                .findWithRolesAndPermissionsByUsername(username)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_EXISTED));
 
         // Convert to user response
@@ -163,11 +189,11 @@ public class UserService {
         this.userMapper.updateUser(user, request);
 
         // Set passwrod
-        String passwordEncoded = this.passwordEncoder.encode(request.getPassword());
+        String passwordEncoded = this.passwordHashingService.encode(request.getPassword());
         user.setPassword(passwordEncoded);
 
         // Set role
-        var roles = this.roleRepository.findAllById(request.getRoles());
+        var roles = this.roleRepository.findAllByNameIn(request.getRoles());
         user.setRoles(new HashSet<>(roles));
 
         // Convert to user response
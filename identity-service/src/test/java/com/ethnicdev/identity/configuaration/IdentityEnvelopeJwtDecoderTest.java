@@ -0,0 +1,97 @@
+package com.ethnicdev.identity.configuaration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.ethnicdev.identity.service.SigningKeyService;
+
+public class IdentityEnvelopeJwtDecoderTest {
+
+    private static final String SECRET = "Ha9eknsqrwK+i3SfQIaGta/qRs/2BpRZ8ZzqpgRii0E=";
+
+    private final IdentityEnvelopeJwtDecoder decoder =
+            new IdentityEnvelopeJwtDecoder(new CustomJwtDecoder(Mockito.mock(SigningKeyService.class)), SECRET);
+
+    @Test
+    void decode_validEnvelope_success() throws Exception {
+        long exp = Instant.now().plusSeconds(60).getEpochSecond();
+
+        Jwt jwt = this.decoder.decode(envelope("john", "ROLE_USER CREATE_DATA", exp));
+
+        Assertions.assertThat(jwt.getSubject()).isEqualTo("john");
+        Assertions.assertThat(jwt.getClaimAsString("userId")).isEqualTo("user-1");
+        Assertions.assertThat(jwt.getClaimAsString("scope")).isEqualTo("ROLE_USER CREATE_DATA");
+        Assertions.assertThat(jwt.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(exp));
+    }
+
+    @Test
+    void decode_tamperedSubject_fail() throws Exception {
+        long exp = Instant.now().plusSeconds(60).getEpochSecond();
+        String envelope = envelope("john", "ROLE_USER", exp);
+        String tampered = envelope.replace(encode("john"), encode("admin"));
+
+        assertThrows(JwtException.class, () -> this.decoder.decode(tampered));
+    }
+
+    @Test
+    void decode_expired_fail() throws Exception {
+        String envelope =
+                envelope("john", "ROLE_USER", Instant.now().minusSeconds(1).getEpochSecond());
+
+        assertThrows(JwtException.class, () -> this.decoder.decode(envelope));
+    }
+
+    @Test
+    void decode_serviceEnvelope_serviceType() throws Exception {
+        long exp = Instant.now().plusSeconds(60).getEpochSecond();
+
+        Jwt jwt = this.decoder.decode(sign("s1." + encode("api-gateway") + "." + exp));
+
+        Assertions.assertThat(jwt.getSubject()).isEqualTo("api-gateway");
+        Assertions.assertThat(jwt.getHeaders()).containsEntry("typ", IdentityEnvelopeJwtDecoder.SERVICE_TYPE);
+        Assertions.assertThat(jwt.hasClaim("scope")).isFalse();
+    }
+
+    @Test
+    void decode_userEnvelopeAsService_fail() throws Exception {
+        long exp = Instant.now().plusSeconds(60).getEpochSecond();
+        String envelope = envelope("john", "ROLE_ADMIN", exp);
+
+        assertThrows(JwtException.class, () -> this.decoder.decode("s1." + envelope.substring(3)));
+    }
+
+    @Test
+    void decode_userEnvelope_notServiceType() throws Exception {
+        long exp = Instant.now().plusSeconds(60).getEpochSecond();
+
+        Jwt jwt = this.decoder.decode(envelope("api-gateway", "", exp));
+
+        Assertions.assertThat(jwt.getHeaders()).doesNotContainEntry("typ", IdentityEnvelopeJwtDecoder.SERVICE_TYPE);
+    }
+
+    private static String envelope(String subject, String scope, long exp) throws Exception {
+        return sign("v1." + encode(subject) + "." + encode("user-1") + "." + encode(scope) + "." + exp);
+    }
+
+    private static String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256"));
+        byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.time.LocalDate;
 
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -91,4 +92,15 @@ public class UserControllerTest {
                 .andExpect(jsonPath("code").value(ErrorCode.USERNAME_INVALID.getCode()))
                 .andExpect(jsonPath("message").value("Username must be at least 4 characters."));
     }
+
+    @Test
+    void acceptsGzip_qValues_zeroRefused() {
+        Assertions.assertThat(UserController.acceptsGzip("gzip, deflate, br")).isTrue();
+        Assertions.assertThat(UserController.acceptsGzip("GZIP;Q=0.5")).isTrue();
+        Assertions.assertThat(UserController.acceptsGzip("br, *;q=0.1")).isTrue();
+        Assertions.assertThat(UserController.acceptsGzip("gzip;q=0")).isFalse();
+        Assertions.assertThat(UserController.acceptsGzip("gzip;q=0.000, *")).isFalse();
+        Assertions.assertThat(UserController.acceptsGzip("identity")).isFalse();
+        Assertions.assertThat(UserController.acceptsGzip(null)).isFalse();
+    }
 }
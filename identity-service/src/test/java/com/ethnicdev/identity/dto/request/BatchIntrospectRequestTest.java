@@ -0,0 +1,49 @@
+package com.ethnicdev.identity.dto.request;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BatchIntrospectRequestTest {
+
+    private final Validator validator =
+            Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void validate_fullBatch_valid() {
+        BatchIntrospectRequest request = BatchIntrospectRequest.builder()
+                .tokens(Collections.nCopies(BatchIntrospectRequest.MAX_TOKENS, "token"))
+                .build();
+
+        Assertions.assertThat(this.validator.validate(request)).isEmpty();
+    }
+
+    @Test
+    void validate_oversizeBatch_invalid() {
+        BatchIntrospectRequest request = BatchIntrospectRequest.builder()
+                .tokens(Collections.nCopies(BatchIntrospectRequest.MAX_TOKENS + 1, "token"))
+                .build();
+
+        Assertions.assertThat(this.validator.validate(request))
+                .extracting(violation -> violation.getMessage())
+                .containsExactly("BATCH_INVALID");
+    }
+
+    @Test
+    void validate_missingOrNullTokens_invalid() {
+        List<String> tokens = new ArrayList<>();
+        tokens.add(null);
+
+        Assertions.assertThat(this.validator.validate(new BatchIntrospectRequest()))
+                .isNotEmpty();
+        Assertions.assertThat(this.validator.validate(
+                        BatchIntrospectRequest.builder().tokens(tokens).build()))
+                .isNotEmpty();
+    }
+}
@@ -0,0 +1,181 @@
+package com.ethnicdev.identity.repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+
+import com.ethnicdev.identity.entity.Permission;
+import com.ethnicdev.identity.entity.Role;
+import com.ethnicdev.identity.entity.User;
+
+@DataJpaTest(
+        properties = {
+            "spring.datasource.url=jdbc:h2:mem:users;MODE=MYSQL;NON_KEYWORDS=USER",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+        })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource("/test.properties")
+public class UserRepositoryTest {
+
+    private static final int USERS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void initData() {
+        Set<Role> roles = new HashSet<>();
+        for (String name : List.of("ADMIN", "USER", "EDITOR")) {
+            Set<Permission> permissions = new HashSet<>();
+            for (String permission : List.of("CREATE_", "UPDATE_")) {
+                permissions.add(this.testEntityManager.persist(
+                        Permission.builder().name(permission + name).build()));
+            }
+            roles.add(this.testEntityManager.persist(
+                    Role.builder().name(name).permissions(permissions).build()));
+        }
+        for (int i = 0; i < USERS; i++) {
+            this.testEntityManager.persist(User.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .roles(new HashSet<>(roles))
+                    .build());
+        }
+        this.testEntityManager.persist(
+                User.builder().username("user_x").password("password").build());
+        this.testEntityManager.flush();
+        this.testEntityManager.clear();
+
+        this.statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    void findAllWithRolesByIdIn_rolesAndPermissionsRead_singleQuery() {
+        List<String> ids = this.userRepository.findPageKeys("ADMIN", null, null, null, Limit.unlimited()).stream()
+                .map(UserRepository.Key::getId)
+                .toList();
+        this.statistics.clear();
+
+        List<User> users = this.userRepository.findAllWithRolesByIdIn(ids);
+
+        Assertions.assertThat(users).hasSize(USERS);
+        Assertions.assertThat(countPermissions(users)).isEqualTo(USERS * 3 * 2);
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findPageKeys_afterLastKey_nextPageInOrder() {
+        List<UserRepository.Key> first = this.userRepository.findPageKeys(null, null, null, null, Limit.of(2));
+        UserRepository.Key last = first.get(1);
+
+        List<UserRepository.Key> second =
+                this.userRepository.findPageKeys(null, null, last.getUsername(), last.getId(), Limit.of(2));
+
+        Assertions.assertThat(first).extracting(UserRepository.Key::getUsername).containsExactly("user0", "user1");
+        Assertions.assertThat(second)
+                .extracting(UserRepository.Key::getUsername)
+                .containsExactly("user2", "user3");
+    }
+
+    @Test
+    void findPageKeys_roleFilter_usersWithoutRoleSkipped() {
+        List<UserRepository.Key> keys = this.userRepository.findPageKeys("EDITOR", null, null, null, Limit.of(10));
+
+        Assertions.assertThat(keys)
+                .hasSize(USERS)
+                .extracting(UserRepository.Key::getUsername)
+                .doesNotContain("user_x");
+    }
+
+    @Test
+    void findPageKeys_prefixWithWildcard_matchedLiterally() {
+        List<UserRepository.Key> keys = this.userRepository.findPageKeys(null, "user!_%", null, null, Limit.of(10));
+
+        Assertions.assertThat(keys).extracting(UserRepository.Key::getUsername).containsExactly("user_x");
+    }
+
+    @Test
+    void findByUsername_rolesOnly_singleQuery() {
+        User user = this.userRepository.findByUsername("user0").orElseThrow();
+
+        Assertions.assertThat(user.getRoles()).extracting(Role::getName).hasSize(3);
+        Assertions.assertThat(user.getRoles()).noneMatch(role -> Hibernate.isInitialized(role.getPermissions()));
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findWithRolesAndPermissionsByUsername_rolesAndPermissionsRead_singleQuery() {
+        User user = this.userRepository
+                .findWithRolesAndPermissionsByUsername("user0")
+                .orElseThrow();
+
+        Assertions.assertThat(countPermissions(List.of(user))).isEqualTo(3 * 2);
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findWithRolesById_rolesAndPermissionsRead_singleQuery() {
+        String id = this.userRepository.findByUsername("user1").orElseThrow().getId();
+        this.testEntityManager.clear();
+        this.statistics.clear();
+
+        User user = this.userRepository.findWithRolesById(id).orElseThrow();
+
+        Assertions.assertThat(countPermissions(List.of(user))).isEqualTo(3 * 2);
+        Assertions.assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamExportRows_afterId_remainingUsersInIdOrder() {
+        List<String> ids;
+        try (var rows = this.userRepository.streamExportRows(null)) {
+            ids = rows.map(UserRepository.ExportRow::getId).distinct().toList();
+        }
+        // A user without roles still has its row
+        Assertions.assertThat(ids).hasSize(USERS + 1);
+
+        try (var rows = this.userRepository.streamExportRows(ids.get(2))) {
+            List<UserRepository.ExportRow> remaining = rows.toList();
+
+            Assertions.assertThat(remaining)
+                    .extracting(UserRepository.ExportRow::getId)
+                    .isSorted();
+            Assertions.assertThat(remaining.stream()
+                            .map(UserRepository.ExportRow::getId)
+                            .distinct())
+                    .containsExactlyElementsOf(ids.subList(3, ids.size()));
+        }
+    }
+
+    private static long countPermissions(List<User> users) {
+        return users.stream()
+                .flatMap(user -> user.getRoles().stream())
+                .mapToLong(role -> role.getPermissions().size())
+                .sum();
+    }
+}
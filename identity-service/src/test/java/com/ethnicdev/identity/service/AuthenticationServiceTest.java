@@ -0,0 +1,220 @@
+package com.ethnicdev.identity.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.identity.dto.request.AuthenticationRequest;
+import com.ethnicdev.identity.dto.request.BatchIntrospectRequest;
+import com.ethnicdev.identity.dto.request.IntrospectRequest;
+import com.ethnicdev.identity.dto.request.LogoutRequest;
+import com.ethnicdev.identity.dto.request.RefreshRequest;
+import com.ethnicdev.identity.dto.response.AuthenticationResponse;
+import com.ethnicdev.identity.dto.response.IntrospectResponse;
+import com.ethnicdev.identity.entity.SigningKey;
+import com.ethnicdev.identity.entity.User;
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+import com.ethnicdev.identity.mapper.InvalidatedTokenMapper;
+import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
+import com.ethnicdev.identity.repository.RoleRepository;
+import com.ethnicdev.identity.repository.SigningKeyRepository;
+import com.ethnicdev.identity.repository.UserRepository;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+public class AuthenticationServiceTest {
+
+    private UserRepository userRepository;
+
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private PasswordHashingService passwordHashingService;
+
+    private RevocationIndex revocationIndex;
+
+    private SigningKeyService signingKeyService;
+
+    private AuthenticationService authenticationService;
+
+    @BeforeEach
+    void initData() {
+        List<SigningKey> keys = new ArrayList<>();
+        SigningKeyRepository signingKeyRepository = Mockito.mock(SigningKeyRepository.class);
+        Mockito.when(signingKeyRepository.findAllByOrderByActivatesAtAsc()).thenAnswer(invocation -> List.copyOf(keys));
+        Mockito.when(signingKeyRepository.save(any())).thenAnswer(invocation -> {
+            keys.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        this.signingKeyService = new SigningKeyService(signingKeyRepository);
+        ReflectionTestUtils.setField(this.signingKeyService, "algorithm", "RS256");
+        ReflectionTestUtils.setField(this.signingKeyService, "rotationInterval", 86400L);
+        ReflectionTestUtils.setField(this.signingKeyService, "activationDelay", 300L);
+        ReflectionTestUtils.setField(this.signingKeyService, "refreshableDuration", 36000L);
+
+        this.userRepository = Mockito.mock(UserRepository.class);
+        this.invalidatedTokenRepository = Mockito.mock(InvalidatedTokenRepository.class);
+        this.passwordHashingService = Mockito.mock(PasswordHashingService.class);
+        this.revocationIndex = new RevocationIndex(this.invalidatedTokenRepository);
+        ReflectionTestUtils.setField(this.revocationIndex, "validDuration", 3600L);
+        ReflectionTestUtils.setField(this.revocationIndex, "refreshableDuration", 36000L);
+        this.revocationIndex.sync();
+        this.authenticationService = new AuthenticationService(
+                this.userRepository,
+                this.invalidatedTokenRepository,
+                Mockito.mock(InvalidatedTokenMapper.class),
+                this.signingKeyService,
+                this.passwordHashingService,
+                this.revocationIndex,
+                new RoleScopeCache(Mockito.mock(RoleRepository.class)));
+        ReflectionTestUtils.setField(this.authenticationService, "VALID_DUARTION", 3600L);
+        ReflectionTestUtils.setField(this.authenticationService, "REFRESHABLE_DURATION", 36000L);
+    }
+
+    @Test
+    void introspect_validToken_valid() throws Exception {
+        String token = this.token(Instant.now().plusSeconds(60));
+
+        Assertions.assertThat(this.introspect(token).isValid()).isTrue();
+    }
+
+    @Test
+    void introspect_tamperedToken_invalid() throws Exception {
+        String token = this.token(Instant.now().plusSeconds(60));
+        String[] parts = token.split("\\.");
+        String tampered =
+                parts[0] + "." + this.token(Instant.now().plusSeconds(120)).split("\\.")[1] + "." + parts[2];
+
+        Assertions.assertThat(this.introspect(tampered).isValid()).isFalse();
+    }
+
+    @Test
+    void introspect_malformedToken_invalid() {
+        Assertions.assertThat(this.introspect("not-a-token").isValid()).isFalse();
+    }
+
+    @Test
+    void introspect_expiredToken_invalid() throws Exception {
+        String token = this.token(Instant.now().minusSeconds(1));
+
+        Assertions.assertThat(this.introspect(token).isValid()).isFalse();
+    }
+
+    @Test
+    void introspect_validToken_noDatabaseLookup() throws Exception {
+        String token = this.token(Instant.now().plusSeconds(60));
+
+        this.introspect(token);
+
+        Mockito.verify(this.invalidatedTokenRepository, Mockito.never()).existsById(anyString());
+    }
+
+    @Test
+    void introspect_revokedToken_invalid() throws Exception {
+        String token = this.token(Instant.now().plusSeconds(60));
+        JWTClaimsSet claims = SignedJWT.parse(token).getJWTClaimsSet();
+        this.revocationIndex.revoke(claims.getJWTID(), claims.getExpirationTime());
+
+        Assertions.assertThat(this.introspect(token).isValid()).isFalse();
+    }
+
+    @Test
+    void logout_validToken_revokedInIndex() throws Exception {
+        String token = this.token(Instant.now().plusSeconds(60));
+
+        this.authenticationService.logout(LogoutRequest.builder().token(token).build());
+
+        Assertions.assertThat(this.introspect(token).isValid()).isFalse();
+        Mockito.verify(this.invalidatedTokenRepository).save(any());
+    }
+
+    @Test
+    void introspectBatch_mixedTokens_keepsOrder() throws Exception {
+        BatchIntrospectRequest request = BatchIntrospectRequest.builder()
+                .tokens(List.of(
+                        this.token(Instant.now().plusSeconds(60)),
+                        "not-a-token",
+                        this.token(Instant.now().minusSeconds(1))))
+                .build();
+
+        List<IntrospectResponse> responses = this.authenticationService.introspectBatch(request);
+
+        Assertions.assertThat(responses).extracting(IntrospectResponse::isValid).containsExactly(true, false, false);
+    }
+
+    @Test
+    void authenticate_outdatedHash_rehashed() {
+        User user = User.builder().username("john").password("$2a$04$old").build();
+        Mockito.when(this.userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+        Mockito.when(this.passwordHashingService.matches("12345678", "$2a$04$old"))
+                .thenReturn(true);
+        Mockito.when(this.passwordHashingService.upgradeEncoding("$2a$04$old")).thenReturn(true);
+        Mockito.when(this.passwordHashingService.encode("12345678")).thenReturn("{bcrypt}$2a$10$new");
+
+        AuthenticationResponse response = this.authenticationService.authenticate(AuthenticationRequest.builder()
+                .username("john")
+                .password("12345678")
+                .build());
+
+        Assertions.assertThat(response.isAuthenticated()).isTrue();
+        Assertions.assertThat(user.getPassword()).isEqualTo("{bcrypt}$2a$10$new");
+        Mockito.verify(this.userRepository).save(user);
+    }
+
+    @Test
+    void authenticate_hashingBusyOnRehash_stillAuthenticated() {
+        User user = User.builder().username("john").password("$2a$04$old").build();
+        Mockito.when(this.userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+        Mockito.when(this.passwordHashingService.matches("12345678", "$2a$04$old"))
+                .thenReturn(true);
+        Mockito.when(this.passwordHashingService.upgradeEncoding("$2a$04$old")).thenReturn(true);
+        Mockito.when(this.passwordHashingService.encode("12345678"))
+                .thenThrow(new AppException(ErrorCode.SERVICE_BUSY));
+
+        AuthenticationResponse response = this.authenticationService.authenticate(AuthenticationRequest.builder()
+                .username("john")
+                .password("12345678")
+                .build());
+
+        Assertions.assertThat(response.isAuthenticated()).isTrue();
+        Assertions.assertThat(user.getPassword()).isEqualTo("$2a$04$old");
+        Mockito.verify(this.userRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    void refreshToken_invalidToken_fail() {
+        RefreshRequest request = RefreshRequest.builder().token("not-a-token").build();
+
+        AppException exception =
+                assertThrows(AppException.class, () -> this.authenticationService.refreshToken(request));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.UNAUTHENTICATED);
+    }
+
+    private IntrospectResponse introspect(String token) {
+        return this.authenticationService.introspect(
+                IntrospectRequest.builder().token(token).build());
+    }
+
+    private String token(Instant expiryTime) throws Exception {
+        return this.signingKeyService.sign(new JWTClaimsSet.Builder()
+                .subject("john")
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiryTime))
+                .jwtID(UUID.randomUUID().toString())
+                .build());
+    }
+}
@@ -0,0 +1,98 @@
+package com.ethnicdev.identity.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.identity.entity.InvalidatedToken;
+import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class InvalidatedTokenPurgeServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private InvalidatedTokenPurgeService invalidatedTokenPurgeService;
+
+    @BeforeEach
+    void initData() {
+        this.invalidatedTokenRepository = Mockito.mock(InvalidatedTokenRepository.class);
+        RevocationIndex revocationIndex = new RevocationIndex(this.invalidatedTokenRepository);
+        ReflectionTestUtils.setField(revocationIndex, "validDuration", 3600L);
+        ReflectionTestUtils.setField(revocationIndex, "refreshableDuration", 36000L);
+
+        this.invalidatedTokenPurgeService =
+                new InvalidatedTokenPurgeService(this.invalidatedTokenRepository, revocationIndex, this.meterRegistry);
+        ReflectionTestUtils.setField(this.invalidatedTokenPurgeService, "batchSize", 2);
+        ReflectionTestUtils.setField(this.invalidatedTokenPurgeService, "maxBatches", 3);
+        ReflectionTestUtils.setField(this.invalidatedTokenPurgeService, "batchPause", Duration.ZERO);
+        this.invalidatedTokenPurgeService.init();
+    }
+
+    @Test
+    void purge_rowsPastRefreshWindow_deletedInBatches() {
+        Mockito.when(this.invalidatedTokenRepository.findIdsByExpiryTimeBefore(any(), any()))
+                .thenReturn(List.of("a", "b"), List.of("c"));
+
+        this.invalidatedTokenPurgeService.purge();
+
+        Mockito.verify(this.invalidatedTokenRepository).deleteAllByIdInBatch(List.of("a", "b"));
+        Mockito.verify(this.invalidatedTokenRepository).deleteAllByIdInBatch(List.of("c"));
+        Assertions.assertThat(this.meterRegistry
+                        .get("identity.invalidated-token.purged")
+                        .counter()
+                        .count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void purge_cutoff_keepsRefreshableTokens() {
+        ArgumentCaptor<Date> cutoff = ArgumentCaptor.forClass(Date.class);
+        Mockito.when(this.invalidatedTokenRepository.findIdsByExpiryTimeBefore(cutoff.capture(), any()))
+                .thenReturn(List.of());
+
+        this.invalidatedTokenPurgeService.purge();
+
+        // Refresh window is 36000 - 3600 seconds after expiry
+        Assertions.assertThat(cutoff.getValue())
+                .isCloseTo(Date.from(Instant.now().minusSeconds(32400)), 5000);
+        Mockito.verify(this.invalidatedTokenRepository, Mockito.never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void purge_moreThanMaxBatches_stopsAndReportsLag() {
+        Mockito.when(this.invalidatedTokenRepository.findIdsByExpiryTimeBefore(any(), Mockito.eq(Limit.of(2))))
+                .thenReturn(List.of("a", "b"));
+        Mockito.when(this.invalidatedTokenRepository.findFirstByOrderByExpiryTimeAsc())
+                .thenReturn(Optional.of(InvalidatedToken.builder()
+                        .id("old")
+                        .expiryTime(Date.from(Instant.now().minusSeconds(32400 + 600)))
+                        .build()));
+
+        this.invalidatedTokenPurgeService.purge();
+
+        Mockito.verify(this.invalidatedTokenRepository, Mockito.times(3)).deleteAllByIdInBatch(anyList());
+        Assertions.assertThat(this.meterRegistry
+                        .get("identity.invalidated-token.purge.lag")
+                        .timeGauge()
+                        .value(TimeUnit.SECONDS))
+                .isCloseTo(600, Assertions.within(5.0));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ethnicdev.identity.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.ethnicdev.identity.dto.response.PageResponse;
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+
+public class PageCursorTest {
+
+    @Test
+    void decode_encodedKey_sameKey() {
+        String cursor = PageCursor.encode("nguyễn.văn", "0b5c-1");
+
+        Assertions.assertThat(PageCursor.decode(cursor, 2)).containsExactly("nguyễn.văn", "0b5c-1");
+    }
+
+    @Test
+    void decode_tamperedCursor_fail() {
+        var exception = assertThrows(AppException.class, () -> PageCursor.decode("not base64!", 1));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.CURSOR_INVALID);
+    }
+
+    @Test
+    void decode_wrongKeyCount_fail() {
+        String cursor = PageCursor.encode("ADMIN");
+
+        var exception = assertThrows(AppException.class, () -> PageCursor.decode(cursor, 2));
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.CURSOR_INVALID);
+    }
+
+    @Test
+    void size_outOfRange_clamped() {
+        Assertions.assertThat(PageCursor.size(null)).isEqualTo(PageCursor.DEFAULT_SIZE);
+        Assertions.assertThat(PageCursor.size(0)).isEqualTo(1);
+        Assertions.assertThat(PageCursor.size(100_000)).isEqualTo(PageCursor.MAX_SIZE);
+    }
+
+    @Test
+    void page_extraRow_nextCursorOfLastItem() {
+        PageResponse<String> page =
+                PageCursor.page(List.of("a", "b", "c"), 2, Function.identity(), row -> new String[] {row});
+
+        Assertions.assertThat(page.getItems()).containsExactly("a", "b");
+        Assertions.assertThat(PageCursor.decode(page.getNextCursor(), 1)).containsExactly("b");
+    }
+
+    @Test
+    void page_noExtraRow_lastPage() {
+        PageResponse<String> page = PageCursor.page(List.of("a"), 2, Function.identity(), row -> new String[] {row});
+
+        Assertions.assertThat(page.getItems()).containsExactly("a");
+        Assertions.assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void likePrefix_wildcards_escaped() {
+        Assertions.assertThat(PageCursor.likePrefix("a_b%c!")).isEqualTo("a!_b!%c!!%");
+        Assertions.assertThat(PageCursor.likePrefix("")).isNull();
+    }
+}
@@ -0,0 +1,115 @@
+package com.ethnicdev.identity.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void shutdown() {
+        this.passwordHashingService.shutdown();
+    }
+
+    @Test
+    void matches_encodedPassword_success() {
+        this.passwordHashingService = this.service(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        String encoded = this.passwordHashingService.encode("12345678");
+
+        Assertions.assertThat(this.passwordHashingService.matches("12345678", encoded))
+                .isTrue();
+        Assertions.assertThat(this.passwordHashingService.matches("87654321", encoded))
+                .isFalse();
+    }
+
+    @Test
+    void encode_poolAndQueueFull_serviceBusy() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = Mockito.mock(PasswordEncoder.class);
+        Mockito.when(blockingEncoder.encode(Mockito.any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        this.passwordHashingService = this.service(blockingEncoder, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running =
+                CompletableFuture.supplyAsync(() -> this.passwordHashingService.encode("a"));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> this.passwordHashingService.encode("b"));
+        while (this.meterRegistry.get("executor.queued").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        AppException exception = assertThrows(AppException.class, () -> this.passwordHashingService.encode("c"));
+        release.countDown();
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY);
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    @Test
+    void encode_waitExceedsTimeout_serviceBusy() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = Mockito.mock(PasswordEncoder.class);
+        Mockito.when(blockingEncoder.encode(Mockito.any())).thenAnswer(invocation -> {
+            release.await();
+            return "hash";
+        });
+        this.passwordHashingService = this.service(blockingEncoder, 1, 1, Duration.ofMillis(50));
+
+        AppException exception = assertThrows(AppException.class, () -> this.passwordHashingService.encode("a"));
+        release.countDown();
+
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY);
+    }
+
+    @Test
+    void upgradeEncoding_lowerCostOrLegacyHash_true() {
+        BCryptPasswordEncoder current = new BCryptPasswordEncoder(10);
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", current));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(current);
+        this.passwordHashingService = this.service(passwordEncoder, 1, 1, Duration.ofSeconds(5));
+
+        String legacy = new BCryptPasswordEncoder(10).encode("12345678");
+        String lowerCost = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("12345678");
+
+        Assertions.assertThat(this.passwordHashingService.matches("12345678", legacy))
+                .isTrue();
+        Assertions.assertThat(this.passwordHashingService.upgradeEncoding(legacy))
+                .isTrue();
+        Assertions.assertThat(this.passwordHashingService.upgradeEncoding(lowerCost))
+                .isTrue();
+        Assertions.assertThat(this.passwordHashingService.upgradeEncoding(passwordEncoder.encode("12345678")))
+                .isFalse();
+    }
+
+    private PasswordHashingService service(
+            PasswordEncoder passwordEncoder, int threads, int queueCapacity, Duration timeout) {
+        return new PasswordHashingService(passwordEncoder, this.meterRegistry, threads, queueCapacity, timeout);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ethnicdev.identity.service;
+
+import static org.mockito.ArgumentMatchers.any;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.identity.entity.InvalidatedToken;
+import com.ethnicdev.identity.repository.InvalidatedTokenRepository;
+
+public class RevocationIndexTest {
+
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+
+    private RevocationIndex revocationIndex;
+
+    @BeforeEach
+    void initData() {
+        this.invalidatedTokenRepository = Mockito.mock(InvalidatedTokenRepository.class);
+        this.revocationIndex = new RevocationIndex(this.invalidatedTokenRepository);
+        ReflectionTestUtils.setField(this.revocationIndex, "validDuration", 3600L);
+        ReflectionTestUtils.setField(this.revocationIndex, "refreshableDuration", 36000L);
+    }
+
+    @Test
+    void isRevoked_beforeFirstLoad_queriesDatabase() {
+        Mockito.when(this.invalidatedTokenRepository.existsById("jti-1")).thenReturn(true);
+
+        Assertions.assertThat(this.revocationIndex.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    void sync_tableRows_revokedWithoutDatabaseLookup() {
+        Mockito.when(this.invalidatedTokenRepository.findAllByExpiryTimeAfter(any()))
+                .thenReturn(List.of(invalidatedToken("jti-1", Instant.now().plusSeconds(60))));
+
+        this.revocationIndex.sync();
+
+        Assertions.assertThat(this.revocationIndex.isRevoked("jti-1")).isTrue();
+        Assertions.assertThat(this.revocationIndex.isRevoked("jti-2")).isFalse();
+        Mockito.verify(this.invalidatedTokenRepository, Mockito.never()).existsById(any());
+    }
+
+    @Test
+    void sync_afterFirstLoad_readsOnlyNewRows() {
+        this.revocationIndex.sync();
+        Mockito.when(this.invalidatedTokenRepository.findAllByInvalidatedAtAfterAndExpiryTimeAfter(any(), any()))
+                .thenReturn(List.of(invalidatedToken("jti-2", Instant.now().plusSeconds(60))));
+
+        this.revocationIndex.sync();
+
+        Assertions.assertThat(this.revocationIndex.isRevoked("jti-2")).isTrue();
+        Mockito.verify(this.invalidatedTokenRepository, Mockito.times(1)).findAllByExpiryTimeAfter(any());
+    }
+
+    @Test
+    void sync_expiredPastRefreshWindow_removed() {
+        this.revocationIndex.sync();
+        // Expired, but still inside the refresh window of 36000 - 3600 seconds
+        this.revocationIndex.revoke("refreshable", Date.from(Instant.now().minusSeconds(3600)));
+        this.revocationIndex.revoke("dead", Date.from(Instant.now().minusSeconds(36000)));
+
+        this.revocationIndex.sync();
+
+        Assertions.assertThat(this.revocationIndex.isRevoked("refreshable")).isTrue();
+        Assertions.assertThat(this.revocationIndex.isRevoked("dead")).isFalse();
+    }
+
+    @Test
+    void revoke_beyondCapacity_noFalseNegative() {
+        this.revocationIndex.sync();
+        List<String> ids = IntStream.range(0, RevocationIndex.MIN_CAPACITY * 3)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        ids.forEach(
+                id -> this.revocationIndex.revoke(id, Date.from(Instant.now().plusSeconds(60))));
+
+        Assertions.assertThat(ids).allMatch(this.revocationIndex::isRevoked);
+    }
+
+    @Test
+    void bloomFilter_atCapacity_fewFalsePositives() {
+        RevocationIndex.BloomFilter bloomFilter = new RevocationIndex.BloomFilter(10000);
+        IntStream.range(0, 10000).forEach(i -> bloomFilter.put("revoked-" + i));
+
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> bloomFilter.mightContain("live-" + i))
+                .count();
+
+        Assertions.assertThat(IntStream.range(0, 10000)).allMatch(i -> bloomFilter.mightContain("revoked-" + i));
+        Assertions.assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static InvalidatedToken invalidatedToken(String id, Instant expiryTime) {
+        return InvalidatedToken.builder()
+                .id(id)
+                .expiryTime(Date.from(expiryTime))
+                .invalidatedAt(new Date())
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ethnicdev.identity.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.identity.entity.Permission;
+import com.ethnicdev.identity.entity.Role;
+import com.ethnicdev.identity.repository.RoleRepository;
+
+public class RoleScopeCacheTest {
+
+    private RoleRepository roleRepository;
+
+    private RoleScopeCache roleScopeCache;
+
+    @BeforeEach
+    void initData() {
+        this.roleRepository = Mockito.mock(RoleRepository.class);
+        Mockito.when(this.roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(
+                        role("ADMIN", "CREATE_DATA"),
+                        Role.builder().name("USER").build()));
+        this.roleScopeCache = new RoleScopeCache(this.roleRepository);
+    }
+
+    @Test
+    void getFragment_loaded_noFurtherQueries() {
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN")).isEqualTo("ROLE_ADMIN CREATE_DATA");
+        Assertions.assertThat(this.roleScopeCache.getFragment("USER")).isEqualTo("ROLE_USER");
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN")).isEqualTo("ROLE_ADMIN CREATE_DATA");
+
+        Mockito.verify(this.roleRepository, Mockito.times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void getFragment_afterInvalidate_reloaded() {
+        this.roleScopeCache.getFragment("ADMIN");
+        Mockito.when(this.roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role("ADMIN", "CREATE_DATA", "DELETE_DATA")));
+
+        this.roleScopeCache.invalidate();
+
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN"))
+                .startsWith("ROLE_ADMIN ")
+                .contains("CREATE_DATA", "DELETE_DATA");
+    }
+
+    @Test
+    void getFragment_unknownRole_roleOnlyWithoutReload() {
+        this.roleScopeCache.getFragment("ADMIN");
+
+        Assertions.assertThat(this.roleScopeCache.getFragment("GUEST")).isEqualTo("ROLE_GUEST");
+        Assertions.assertThat(this.roleScopeCache.getFragment("GUEST")).isEqualTo("ROLE_GUEST");
+        Mockito.verify(this.roleRepository, Mockito.times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void getFragment_unknownRoleAfterReloadInterval_reloadedOnce() {
+        this.roleScopeCache.getFragment("ADMIN");
+        Mockito.when(this.roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role("ADMIN", "CREATE_DATA"), role("GUEST", "READ_DATA")));
+        ReflectionTestUtils.setField(
+                this.roleScopeCache, "loadedAt", System.currentTimeMillis() - RoleScopeCache.MIN_RELOAD_INTERVAL);
+
+        Assertions.assertThat(this.roleScopeCache.getFragment("GUEST")).isEqualTo("ROLE_GUEST READ_DATA");
+        Assertions.assertThat(this.roleScopeCache.getFragment("EDITOR")).isEqualTo("ROLE_EDITOR");
+        Mockito.verify(this.roleRepository, Mockito.times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    void getFragment_whileReloading_previousScopes() throws Exception {
+        this.roleScopeCache.getFragment("ADMIN");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(this.roleRepository.findAllWithPermissions()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(role("ADMIN", "CREATE_DATA", "DELETE_DATA"));
+        });
+        this.roleScopeCache.invalidate();
+        CompletableFuture<String> loader =
+                CompletableFuture.supplyAsync(() -> this.roleScopeCache.getFragment("ADMIN"));
+        loading.await();
+
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN")).isEqualTo("ROLE_ADMIN CREATE_DATA");
+
+        release.countDown();
+        Assertions.assertThat(loader.get()).contains("DELETE_DATA");
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN")).contains("DELETE_DATA");
+        Mockito.verify(this.roleRepository, Mockito.times(2)).findAllWithPermissions();
+    }
+
+    @Test
+    void load_invalidatedWhileLoading_notPublished() {
+        Mockito.when(this.roleRepository.findAllWithPermissions()).thenAnswer(invocation -> {
+            this.roleScopeCache.invalidate();
+            return List.of(role("ADMIN", "CREATE_DATA"));
+        });
+
+        this.roleScopeCache.load();
+
+        Mockito.when(this.roleRepository.findAllWithPermissions()).thenReturn(List.of(role("ADMIN")));
+        Assertions.assertThat(this.roleScopeCache.getFragment("ADMIN")).isEqualTo("ROLE_ADMIN");
+    }
+
+    private static Role role(String name, String... permissions) {
+        Set<Permission> granted = new HashSet<>();
+        for (String permission : permissions) {
+            granted.add(Permission.builder().name(permission).build());
+        }
+        return Role.builder().name(name).permissions(granted).build();
+    }
+}
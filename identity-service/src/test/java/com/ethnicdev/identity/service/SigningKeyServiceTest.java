@@ -0,0 +1,161 @@
+package com.ethnicdev.identity.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ethnicdev.identity.entity.SigningKey;
+import com.ethnicdev.identity.repository.SigningKeyRepository;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+public class SigningKeyServiceTest {
+
+    private static final long REFRESHABLE_DURATION = 36000;
+
+    private final List<SigningKey> table = new ArrayList<>();
+
+    private SigningKeyService signingKeyService;
+
+    @BeforeEach
+    void initData() {
+        SigningKeyRepository signingKeyRepository = Mockito.mock(SigningKeyRepository.class);
+        Mockito.when(signingKeyRepository.findAllByOrderByActivatesAtAsc()).thenAnswer(invocation -> this.table.stream()
+                .sorted(Comparator.comparing(SigningKey::getActivatesAt))
+                .toList());
+        Mockito.when(signingKeyRepository.save(any())).thenAnswer(invocation -> {
+            this.table.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        Mockito.doAnswer(invocation -> {
+                    Iterable<String> ids = invocation.getArgument(0);
+                    ids.forEach(id -> this.table.removeIf(key -> key.getId().equals(id)));
+                    return null;
+                })
+                .when(signingKeyRepository)
+                .deleteAllById(anyIterable());
+
+        this.signingKeyService = new SigningKeyService(signingKeyRepository);
+        ReflectionTestUtils.setField(this.signingKeyService, "algorithm", "ES256");
+        ReflectionTestUtils.setField(this.signingKeyService, "rotationInterval", 86400L);
+        ReflectionTestUtils.setField(this.signingKeyService, "activationDelay", 300L);
+        ReflectionTestUtils.setField(this.signingKeyService, "refreshableDuration", REFRESHABLE_DURATION);
+    }
+
+    @Test
+    void sign_noKey_createsKeyAndVerifies() throws Exception {
+        String token = this.signingKeyService.sign(claims());
+
+        SignedJWT signedJWT = SignedJWT.parse(token);
+        Assertions.assertThat(signedJWT.getHeader().getAlgorithm()).isEqualTo(JWSAlgorithm.ES256);
+        Assertions.assertThat(signedJWT.getHeader().getKeyID())
+                .isEqualTo(this.table.get(0).getId());
+        Assertions.assertThat(this.signingKeyService.verify(signedJWT)).isTrue();
+    }
+
+    @Test
+    void sign_rs256_verifies() throws Exception {
+        ReflectionTestUtils.setField(this.signingKeyService, "algorithm", "RS256");
+
+        SignedJWT signedJWT = SignedJWT.parse(this.signingKeyService.sign(claims()));
+
+        Assertions.assertThat(signedJWT.getHeader().getAlgorithm()).isEqualTo(JWSAlgorithm.RS256);
+        Assertions.assertThat(this.signingKeyService.verify(signedJWT)).isTrue();
+    }
+
+    @Test
+    void getJwkSet_publishesPublicKeysOnly() throws Exception {
+        this.signingKeyService.rotate();
+
+        JWKSet jwkSet = JWKSet.parse(this.signingKeyService.getJwkSet());
+
+        Assertions.assertThat(jwkSet.getKeys()).hasSize(1);
+        Assertions.assertThat(jwkSet.getKeys().get(0).isPrivate()).isFalse();
+    }
+
+    @Test
+    void verify_unknownKey_fail() throws Exception {
+        this.signingKeyService.rotate();
+        ECKey foreignKey = new ECKeyGenerator(Curve.P_256)
+                .keyID(UUID.randomUUID().toString())
+                .generate();
+        SignedJWT signedJWT = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.ES256)
+                        .keyID(foreignKey.getKeyID())
+                        .build(),
+                claims());
+        signedJWT.sign(new ECDSASigner(foreignKey));
+
+        Assertions.assertThat(this.signingKeyService.verify(signedJWT)).isFalse();
+    }
+
+    @Test
+    void rotate_newKey_publishedBeforeSigning() throws Exception {
+        this.table.add(key(Instant.now().minus(Duration.ofDays(2))));
+        String currentKeyId = this.table.get(0).getId();
+
+        this.signingKeyService.rotate();
+
+        Assertions.assertThat(this.table).hasSize(2);
+        Assertions.assertThat(JWKSet.parse(this.signingKeyService.getJwkSet()).getKeys())
+                .hasSize(2);
+        SignedJWT signedJWT = SignedJWT.parse(this.signingKeyService.sign(claims()));
+        Assertions.assertThat(signedJWT.getHeader().getKeyID()).isEqualTo(currentKeyId);
+    }
+
+    @Test
+    void rotate_supersededKey_keptForRefreshableDuration() throws Exception {
+        this.table.add(key(Instant.now().minus(Duration.ofDays(3))));
+        this.table.add(key(Instant.now().minusSeconds(REFRESHABLE_DURATION + 60)));
+        this.table.add(key(Instant.now().minusSeconds(60)));
+
+        this.signingKeyService.rotate();
+
+        // The oldest key was superseded more than the refreshable duration ago
+        Assertions.assertThat(this.table).hasSize(2);
+        Assertions.assertThat(JWKSet.parse(this.signingKeyService.getJwkSet()).getKeys())
+                .hasSize(2);
+    }
+
+    private static SigningKey key(Instant activatesAt) throws Exception {
+        ECKey ecKey = new ECKeyGenerator(Curve.P_256)
+                .keyID(UUID.randomUUID().toString())
+                .algorithm(JWSAlgorithm.ES256)
+                .generate();
+        return SigningKey.builder()
+                .id(ecKey.getKeyID())
+                .jwk(ecKey.toJSONString())
+                .createdAt(Date.from(activatesAt))
+                .activatesAt(Date.from(activatesAt))
+                .build();
+    }
+
+    private static JWTClaimsSet claims() {
+        return new JWTClaimsSet.Builder()
+                .subject("john")
+                .expirationTime(Date.from(Instant.now().plusSeconds(60)))
+                .claim("scope", Map.of())
+                .build();
+    }
+}
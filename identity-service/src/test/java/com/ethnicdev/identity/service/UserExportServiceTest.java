@@ -0,0 +1,112 @@
+package com.ethnicdev.identity.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.ethnicdev.identity.exception.AppException;
+import com.ethnicdev.identity.exception.ErrorCode;
+import com.ethnicdev.identity.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class UserExportServiceTest {
+
+    private UserRepository userRepository;
+
+    private UserExportService userExportService;
+
+    @BeforeEach
+    void initData() {
+        this.userRepository = Mockito.mock(UserRepository.class);
+        this.userExportService = new UserExportService(
+                this.userRepository, Mockito.mock(PlatformTransactionManager.class), new ObjectMapper(), 1);
+    }
+
+    @Test
+    void export_rowsPerRole_oneLinePerUser() throws IOException {
+        Mockito.when(this.userRepository.streamExportRows(null))
+                .thenReturn(Stream.of(row("1", "anna", "ADMIN"), row("1", "anna", "USER"), row("2", "binh", null)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        this.userExportService.export(null, false).writeTo(outputStream);
+
+        Assertions.assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":\"1\",\"username\":\"anna\",\"roles\":[\"ADMIN\",\"USER\"]}\n"
+                        + "{\"id\":\"2\",\"username\":\"binh\",\"roles\":[]}\n");
+    }
+
+    @Test
+    void export_gzip_compressedLines() throws IOException {
+        Mockito.when(this.userRepository.streamExportRows("1")).thenReturn(Stream.of(row("2", "binh", "USER")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        this.userExportService.export("1", true).writeTo(outputStream);
+
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Assertions.assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"id\":\"2\",\"username\":\"binh\",\"roles\":[\"USER\"]}\n");
+        }
+    }
+
+    @Test
+    void export_clientGone_ioExceptionAndStreamClosed() {
+        Stream<UserRepository.ExportRow> rows = Stream.of(row("1", "anna", "USER"));
+        Runnable onClose = Mockito.mock(Runnable.class);
+        Mockito.when(this.userRepository.streamExportRows(null)).thenReturn(rows.onClose(onClose));
+        OutputStream brokenOutputStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        Assertions.assertThatThrownBy(
+                        () -> this.userExportService.export(null, false).writeTo(brokenOutputStream))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        Mockito.verify(onClose).run();
+    }
+
+    @Test
+    void export_limitReached_busyUntilWritten() throws IOException {
+        Mockito.when(this.userRepository.streamExportRows(null)).thenReturn(Stream.of(row("1", "anna", "USER")));
+        var running = this.userExportService.export(null, false);
+
+        var exception = assertThrows(AppException.class, () -> this.userExportService.export(null, false));
+        Assertions.assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.SERVICE_BUSY);
+
+        running.writeTo(new ByteArrayOutputStream());
+        Assertions.assertThat(this.userExportService.export(null, false)).isNotNull();
+    }
+
+    private static UserRepository.ExportRow row(String id, String username, String role) {
+        return new UserRepository.ExportRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getRole() {
+                return role;
+            }
+        };
+    }
+}
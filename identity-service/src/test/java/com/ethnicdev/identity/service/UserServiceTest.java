@@ -74,7 +74,8 @@ public class UserServiceTest {
     @Test
     @WithMockUser(username = "john")
     void getMyInfo_valid_success() {
-        when(this.userRepository.findByUsername(anyString())).thenReturn(Optional.of(this.user));
+        when(this.userRepository.findWithRolesAndPermissionsByUsername(anyString()))
+                .thenReturn(Optional.of(this.user));
         UserResponse response = this.userService.getMyInfo();
         Assertions.assertThat(response.getId()).isEqualTo("cf03123482342342342");
         Assertions.assertThat(response.getUsername()).isEqualTo("john");
@@ -83,7 +84,8 @@ public class UserServiceTest {
     @Test
     @WithMockUser(username = "john")
     void getMyInfo_usernameNotFound_fail() {
-        when(this.userRepository.findByUsername(anyString())).thenReturn(Optional.ofNullable(null));
+        when(this.userRepository.findWithRolesAndPermissionsByUsername(anyString()))
+                .thenReturn(Optional.ofNullable(null));
         AppException exception = assertThrows(AppException.class, () -> this.userService.getMyInfo());
         Assertions.assertThat(exception.getErrorCode().getCode()).isEqualTo(ErrorCode.USER_EXISTED.getCode());
     }
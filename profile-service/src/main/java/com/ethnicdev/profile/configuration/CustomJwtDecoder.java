@@ -1,31 +1,50 @@
 package com.ethnicdev.profile.configuration;
 
-import java.text.ParseException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.stereotype.Component;
 
-import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 
+/**
+ * Verifies access tokens with the public keys published by identity-service. The JWK Set is cached and refreshed in
+ * the background before it expires, a token with an unknown key id triggers a rate limited reload.
+ */
 @Component
 public class CustomJwtDecoder implements JwtDecoder {
 
+    private final NimbusJwtDecoder nimbusJwtDecoder;
+
+    public CustomJwtDecoder(
+            @Value("${app.services.identity}") String identityUrl, @Value("${app.jwks.cache-ttl}") long cacheTtl)
+            throws MalformedURLException {
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder.<SecurityContext>create(
+                        URI.create(identityUrl + "/.well-known/jwks.json").toURL())
+                .cache(cacheTtl, JWKSourceBuilder.DEFAULT_CACHE_REFRESH_TIMEOUT)
+                .refreshAheadCache(JWKSourceBuilder.DEFAULT_REFRESH_AHEAD_TIME, true)
+                .build();
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(
+                new JWSVerificationKeySelector<>(Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256), jwkSource));
+        // Expiry is checked by the validators of NimbusJwtDecoder
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {});
+        this.nimbusJwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+    }
+
     @Override
     public Jwt decode(String token) throws JwtException {
-
-        SignedJWT signedJWT;
-        try {
-            signedJWT = SignedJWT.parse(token);
-            return new Jwt(
-                    token,
-                    signedJWT.getJWTClaimsSet().getIssueTime().toInstant(),
-                    signedJWT.getJWTClaimsSet().getExpirationTime().toInstant(),
-                    signedJWT.getHeader().toJSONObject(),
-                    signedJWT.getJWTClaimsSet().getClaims());
-        } catch (ParseException e) {
-            throw new JwtException("Invalid token");
-        }
+        return this.nimbusJwtDecoder.decode(token);
     }
 }
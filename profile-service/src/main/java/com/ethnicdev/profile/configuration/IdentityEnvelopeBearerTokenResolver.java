@@ -0,0 +1,25 @@
+package com.ethnicdev.profile.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Prefers the identity envelope set by the api-gateway over the Authorization header.
+ */
+@Component
+public class IdentityEnvelopeBearerTokenResolver implements BearerTokenResolver {
+
+    public static final String HEADER = "X-Identity-Envelope";
+
+    private final DefaultBearerTokenResolver defaultBearerTokenResolver = new DefaultBearerTokenResolver();
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String envelope = request.getHeader(HEADER);
+        return StringUtils.hasText(envelope) ? envelope : this.defaultBearerTokenResolver.resolve(request);
+    }
+}
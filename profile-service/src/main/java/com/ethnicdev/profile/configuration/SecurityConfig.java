@@ -18,7 +18,10 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Autowired
-    private CustomJwtDecoder customJwtDecoder;
+    private IdentityEnvelopeJwtDecoder identityEnvelopeJwtDecoder;
+
+    @Autowired
+    private IdentityEnvelopeBearerTokenResolver identityEnvelopeBearerTokenResolver;
 
     private final String[] PUBLIC_ENDPOINTS = {"/internal/users"};
 
@@ -28,8 +31,9 @@ public class SecurityConfig {
                 .permitAll()
                 .anyRequest()
                 .authenticated());
-        httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwtConfigurer -> jwtConfigurer
-                        .decoder(this.customJwtDecoder)
+        httpSecurity.oauth2ResourceServer(oauth2 -> oauth2.bearerTokenResolver(this.identityEnvelopeBearerTokenResolver)
+                .jwt(jwtConfigurer -> jwtConfigurer
+                        .decoder(this.identityEnvelopeJwtDecoder)
                         .jwtAuthenticationConverter(this.jwtAuthenticationConverter()))
                 .authenticationEntryPoint(new JwtAuthenticationEntryPoint()));
         httpSecurity.csrf(AbstractHttpConfigurer::disable);
@@ -25,6 +25,11 @@ public class UserProfileController {
         return userProfileService.getAllProfiles();
     }
 
+    @GetMapping("/users/my-profile")
+    UserProfileResponse getMyProfile() {
+        return this.userProfileService.getMyProfile();
+    }
+
     @GetMapping("/users/{profileId}")
     UserProfileResponse getProfile(@PathVariable String profileId) {
         return this.userProfileService.getProfile(profileId);
@@ -3,6 +3,8 @@ package com.ethnicdev.profile.service;
 import java.util.List;
 
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
 import com.ethnicdev.profile.dto.request.ProfileCreationRequest;
@@ -38,6 +40,14 @@ public class UserProfileService {
         return this.userProfileMapper.toUserProfileResponse(enity);
     }
 
+    public UserProfileResponse getMyProfile() {
+        Jwt jwt = (Jwt) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserProfile entity = this.userProfileRepository
+                .findByUserId(jwt.getClaimAsString("userId"))
+                .orElseThrow(() -> new RuntimeException("Profile not found."));
+        return this.userProfileMapper.toUserProfileResponse(entity);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public List<UserProfileResponse> getAllProfiles() {
         var profiles = userProfileRepository.findAll();